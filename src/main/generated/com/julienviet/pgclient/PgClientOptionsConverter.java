@@ -27,6 +27,9 @@ import io.vertx.core.json.JsonArray;
 public class PgClientOptionsConverter {
 
   public static void fromJson(JsonObject json, PgClientOptions obj) {
+    if (json.getValue("binaryResultFormat") instanceof Boolean) {
+      obj.setBinaryResultFormat((Boolean)json.getValue("binaryResultFormat"));
+    }
     if (json.getValue("cachePreparedStatements") instanceof Boolean) {
       obj.setCachePreparedStatements((Boolean)json.getValue("cachePreparedStatements"));
     }
@@ -36,6 +39,14 @@ public class PgClientOptionsConverter {
     if (json.getValue("host") instanceof String) {
       obj.setHost((String)json.getValue("host"));
     }
+    if (json.getValue("hosts") instanceof JsonArray) {
+      java.util.ArrayList<java.lang.String> list = new java.util.ArrayList<>();
+      json.getJsonArray("hosts").forEach( item -> {
+        if (item instanceof String)
+          list.add((String)item);
+      });
+      obj.setHosts(list);
+    }
     if (json.getValue("password") instanceof String) {
       obj.setPassword((String)json.getValue("password"));
     }
@@ -45,12 +56,25 @@ public class PgClientOptionsConverter {
     if (json.getValue("port") instanceof Number) {
       obj.setPort(((Number)json.getValue("port")).intValue());
     }
+    if (json.getValue("preparedStatementCacheMaxBytes") instanceof Number) {
+      obj.setPreparedStatementCacheMaxBytes(((Number)json.getValue("preparedStatementCacheMaxBytes")).longValue());
+    }
+    if (json.getValue("preparedStatementCacheMaxSize") instanceof Number) {
+      obj.setPreparedStatementCacheMaxSize(((Number)json.getValue("preparedStatementCacheMaxSize")).intValue());
+    }
+    if (json.getValue("queryTimeout") instanceof Number) {
+      obj.setQueryTimeout(((Number)json.getValue("queryTimeout")).longValue());
+    }
     if (json.getValue("username") instanceof String) {
       obj.setUsername((String)json.getValue("username"));
     }
+    if (json.getValue("writeCoalescing") instanceof Boolean) {
+      obj.setWriteCoalescing((Boolean)json.getValue("writeCoalescing"));
+    }
   }
 
   public static void toJson(PgClientOptions obj, JsonObject json) {
+    json.put("binaryResultFormat", obj.getBinaryResultFormat());
     json.put("cachePreparedStatements", obj.getCachePreparedStatements());
     if (obj.getDatabase() != null) {
       json.put("database", obj.getDatabase());
@@ -58,13 +82,22 @@ public class PgClientOptionsConverter {
     if (obj.getHost() != null) {
       json.put("host", obj.getHost());
     }
+    if (obj.getHosts() != null) {
+      JsonArray array = new JsonArray();
+      obj.getHosts().forEach(item -> array.add(item));
+      json.put("hosts", array);
+    }
     if (obj.getPassword() != null) {
       json.put("password", obj.getPassword());
     }
     json.put("pipeliningLimit", obj.getPipeliningLimit());
     json.put("port", obj.getPort());
+    json.put("preparedStatementCacheMaxBytes", obj.getPreparedStatementCacheMaxBytes());
+    json.put("preparedStatementCacheMaxSize", obj.getPreparedStatementCacheMaxSize());
+    json.put("queryTimeout", obj.getQueryTimeout());
     if (obj.getUsername() != null) {
       json.put("username", obj.getUsername());
     }
+    json.put("writeCoalescing", obj.getWriteCoalescing());
   }
 }
\ No newline at end of file
@@ -27,18 +27,66 @@ import io.vertx.core.json.JsonArray;
 public class PgPoolOptionsConverter {
 
   public static void fromJson(JsonObject json, PgPoolOptions obj) {
+    if (json.getValue("acquireTimeout") instanceof Number) {
+      obj.setAcquireTimeout(((Number)json.getValue("acquireTimeout")).longValue());
+    }
+    if (json.getValue("coalesceQueries") instanceof Boolean) {
+      obj.setCoalesceQueries((Boolean)json.getValue("coalesceQueries"));
+    }
+    if (json.getValue("idleTimeout") instanceof Number) {
+      obj.setIdleTimeout(((Number)json.getValue("idleTimeout")).longValue());
+    }
+    if (json.getValue("maxLifetime") instanceof Number) {
+      obj.setMaxLifetime(((Number)json.getValue("maxLifetime")).longValue());
+    }
     if (json.getValue("maxSize") instanceof Number) {
       obj.setMaxSize(((Number)json.getValue("maxSize")).intValue());
     }
+    if (json.getValue("maxWaitQueueSize") instanceof Number) {
+      obj.setMaxWaitQueueSize(((Number)json.getValue("maxWaitQueueSize")).intValue());
+    }
+    if (json.getValue("minIdle") instanceof Number) {
+      obj.setMinIdle(((Number)json.getValue("minIdle")).intValue());
+    }
     if (json.getValue("mode") instanceof String) {
       obj.setMode(com.julienviet.pgclient.PoolingMode.valueOf((String)json.getValue("mode")));
     }
+    if (json.getValue("perEventLoop") instanceof Boolean) {
+      obj.setPerEventLoop((Boolean)json.getValue("perEventLoop"));
+    }
+    if (json.getValue("readRouting") instanceof Boolean) {
+      obj.setReadRouting((Boolean)json.getValue("readRouting"));
+    }
+    if (json.getValue("resultCacheMaxSize") instanceof Number) {
+      obj.setResultCacheMaxSize(((Number)json.getValue("resultCacheMaxSize")).intValue());
+    }
+    if (json.getValue("resultCacheTtl") instanceof Number) {
+      obj.setResultCacheTtl(((Number)json.getValue("resultCacheTtl")).longValue());
+    }
+    if (json.getValue("validateOnBorrow") instanceof Boolean) {
+      obj.setValidateOnBorrow((Boolean)json.getValue("validateOnBorrow"));
+    }
+    if (json.getValue("validationInterval") instanceof Number) {
+      obj.setValidationInterval(((Number)json.getValue("validationInterval")).longValue());
+    }
   }
 
   public static void toJson(PgPoolOptions obj, JsonObject json) {
+    json.put("acquireTimeout", obj.getAcquireTimeout());
+    json.put("coalesceQueries", obj.getCoalesceQueries());
+    json.put("idleTimeout", obj.getIdleTimeout());
+    json.put("maxLifetime", obj.getMaxLifetime());
     json.put("maxSize", obj.getMaxSize());
+    json.put("maxWaitQueueSize", obj.getMaxWaitQueueSize());
+    json.put("minIdle", obj.getMinIdle());
     if (obj.getMode() != null) {
       json.put("mode", obj.getMode().name());
     }
+    json.put("perEventLoop", obj.getPerEventLoop());
+    json.put("readRouting", obj.getReadRouting());
+    json.put("resultCacheMaxSize", obj.getResultCacheMaxSize());
+    json.put("resultCacheTtl", obj.getResultCacheTtl());
+    json.put("validateOnBorrow", obj.getValidateOnBorrow());
+    json.put("validationInterval", obj.getValidationInterval());
   }
 }
\ No newline at end of file
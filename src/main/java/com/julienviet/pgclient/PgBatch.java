@@ -136,6 +136,36 @@ public interface PgBatch {
   @GenIgnore
   PgBatch add(List<Object> params);
 
+  /**
+   * Rewrite a single row {@code INSERT ... VALUES (...)} statement into multi row {@code VALUES} statements
+   * of at most {@code chunkSize} rows, the chunk size is further limited so a statement does not use more than
+   * 65535 parameters. The rows are sent as a few statements instead of one statement per row, the update result
+   * of each row is reported as it would be without the rewriting when all the rows of a chunk are inserted,
+   * otherwise (e.g {@code ON CONFLICT DO NOTHING}) the count of a chunk is reported over its first rows.
+   * <p/>
+   * A statement that cannot be rewritten is executed as is, the rewriting is disabled when the size is {@code 0}.
+   *
+   * @param chunkSize the maximum number of rows of a statement
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgBatch rewriteInserts(int chunkSize);
+
+  /**
+   * Execute the statement once with one array parameter per column instead of once per row, the values of each
+   * column of the batch are transposed into an array. The statement must expect arrays, e.g
+   * {@code INSERT INTO users (id, name) SELECT * FROM unnest($1::int4[], $2::text[])}.
+   * <p/>
+   * The update result of each row is reported as it would be without the arrays when all the rows are updated,
+   * otherwise the count of the execution is reported over the first rows. This takes precedence over
+   * {@link #rewriteInserts(int)}.
+   *
+   * @param enabled true to execute the batch with array parameters
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgBatch arrayParameters(boolean enabled);
+
   /**
    * Execute the batch and notifies {@code resultHandler} of the result.
    *
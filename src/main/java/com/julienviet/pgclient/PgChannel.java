@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * The notifications of a {@code LISTEN}/{@code NOTIFY} channel, the stream items are the notification payloads.
+ * <p/>
+ * Setting a {@link #handler} subscribes to the channel, setting a {@code null} handler unsubscribes from
+ * the channel. The notifications received while the channel is paused are discarded. The channel is ended
+ * when its subscriber is closed.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public interface PgChannel extends ReadStream<String> {
+
+  /**
+   * Set an handler called when the subscriber listens to the channel, after a subscription or when the subscriber
+   * subscribes again after a reconnection.
+   *
+   * @param handler the handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgChannel subscribeHandler(Handler<Void> handler);
+
+  @Override
+  PgChannel exceptionHandler(Handler<Throwable> handler);
+
+  @Override
+  PgChannel handler(Handler<String> handler);
+
+  @Override
+  PgChannel pause();
+
+  @Override
+  PgChannel resume();
+
+  @Override
+  PgChannel endHandler(Handler<Void> endHandler);
+
+}
@@ -32,6 +32,9 @@ import io.vertx.core.net.ProxyOptions;
 import io.vertx.core.net.SSLEngineOptions;
 import io.vertx.core.net.TrustOptions;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
@@ -45,6 +48,11 @@ public class PgClientOptions extends NetClientOptions {
   public static final String DEFAULT_PASSWORD = "pass";
   public static final boolean DEFAULT_CACHE_PREPARED_STATEMENTS = false;
   public static final int DEFAULT_PIPELINING_LIMIT = 256;
+  public static final boolean DEFAULT_BINARY_RESULT_FORMAT = false;
+  public static final int DEFAULT_PREPARED_STATEMENT_CACHE_MAX_SIZE = 256;
+  public static final long DEFAULT_PREPARED_STATEMENT_CACHE_MAX_BYTES = 1024 * 1024;
+  public static final boolean DEFAULT_WRITE_COALESCING = false;
+  public static final long DEFAULT_QUERY_TIMEOUT = 0;
 
   private String host = DEFAULT_HOST;
   private int port = DEFAULT_PORT;
@@ -53,6 +61,12 @@ public class PgClientOptions extends NetClientOptions {
   private String password = DEFAULT_PASSWORD;
   private boolean cachePreparedStatements = DEFAULT_CACHE_PREPARED_STATEMENTS;
   private int pipeliningLimit = DEFAULT_PIPELINING_LIMIT;
+  private boolean binaryResultFormat = DEFAULT_BINARY_RESULT_FORMAT;
+  private int preparedStatementCacheMaxSize = DEFAULT_PREPARED_STATEMENT_CACHE_MAX_SIZE;
+  private long preparedStatementCacheMaxBytes = DEFAULT_PREPARED_STATEMENT_CACHE_MAX_BYTES;
+  private boolean writeCoalescing = DEFAULT_WRITE_COALESCING;
+  private List<String> hosts = new ArrayList<>();
+  private long queryTimeout = DEFAULT_QUERY_TIMEOUT;
 
   public PgClientOptions() {
     super();
@@ -70,7 +84,14 @@ public class PgClientOptions extends NetClientOptions {
     database = other.database;
     username = other.username;
     password = other.password;
+    cachePreparedStatements = other.cachePreparedStatements;
     pipeliningLimit = other.pipeliningLimit;
+    binaryResultFormat = other.binaryResultFormat;
+    preparedStatementCacheMaxSize = other.preparedStatementCacheMaxSize;
+    preparedStatementCacheMaxBytes = other.preparedStatementCacheMaxBytes;
+    writeCoalescing = other.writeCoalescing;
+    hosts = new ArrayList<>(other.hosts);
+    queryTimeout = other.queryTimeout;
   }
 
   public String getHost() {
@@ -139,6 +160,96 @@ public class PgClientOptions extends NetClientOptions {
     return this;
   }
 
+  public boolean getBinaryResultFormat() {
+    return binaryResultFormat;
+  }
+
+  public PgClientOptions setBinaryResultFormat(boolean binaryResultFormat) {
+    this.binaryResultFormat = binaryResultFormat;
+    return this;
+  }
+
+  public int getPreparedStatementCacheMaxSize() {
+    return preparedStatementCacheMaxSize;
+  }
+
+  public PgClientOptions setPreparedStatementCacheMaxSize(int preparedStatementCacheMaxSize) {
+    if (preparedStatementCacheMaxSize < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.preparedStatementCacheMaxSize = preparedStatementCacheMaxSize;
+    return this;
+  }
+
+  public long getPreparedStatementCacheMaxBytes() {
+    return preparedStatementCacheMaxBytes;
+  }
+
+  public PgClientOptions setPreparedStatementCacheMaxBytes(long preparedStatementCacheMaxBytes) {
+    if (preparedStatementCacheMaxBytes < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.preparedStatementCacheMaxBytes = preparedStatementCacheMaxBytes;
+    return this;
+  }
+
+  public boolean getWriteCoalescing() {
+    return writeCoalescing;
+  }
+
+  public PgClientOptions setWriteCoalescing(boolean writeCoalescing) {
+    this.writeCoalescing = writeCoalescing;
+    return this;
+  }
+
+  public List<String> getHosts() {
+    return hosts;
+  }
+
+  /**
+   * Set the servers of a primary/standby cluster, each server is a {@code host} or {@code host:port} string,
+   * the port defaults to {@link #getPort()}. When set, the {@link #getHost()} is not used.
+   *
+   * @param hosts the servers
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgClientOptions setHosts(List<String> hosts) {
+    this.hosts = new ArrayList<>(hosts);
+    return this;
+  }
+
+  /**
+   * Add a server of a primary/standby cluster, see {@link #setHosts(List)}.
+   *
+   * @param host the server
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgClientOptions addHost(String host) {
+    hosts.add(host);
+    return this;
+  }
+
+  public long getQueryTimeout() {
+    return queryTimeout;
+  }
+
+  /**
+   * Set the time in milliseconds after which the execution of a query or an update is cancelled, the query then
+   * fails. A query executing alone on its connection is cancelled with a cancel request, a query pipelined with
+   * other commands is failed without interrupting its execution on the server, see {@link PgQuery#cancel}.
+   * The default value {@code 0} disables the timeout.
+   *
+   * @param queryTimeout the query timeout in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgClientOptions setQueryTimeout(long queryTimeout) {
+    if (queryTimeout < 0) {
+      throw new IllegalArgumentException();
+    }
+    this.queryTimeout = queryTimeout;
+    return this;
+  }
+
   @Override
   public PgClientOptions setSendBufferSize(int sendBufferSize) {
     return (PgClientOptions)super.setSendBufferSize(sendBufferSize);
@@ -35,6 +35,27 @@ public interface PgConnection extends PgOperations {
 
   PgPreparedStatement prepare(String sql);
 
+  /**
+   * Execute a {@code COPY FROM STDIN} command, the data written to the returned stream is copied until the stream
+   * is ended.
+   * <p/>
+   * The connection executes no other command until the stream is ended.
+   *
+   * @param sql the {@code COPY} command
+   * @param completionHandler the handler called with the number of rows copied
+   * @return the stream to write the data to
+   */
+  PgCopyIn copyFrom(String sql, Handler<AsyncResult<Integer>> completionHandler);
+
+  /**
+   * Create a stream of the data copied by a {@code COPY TO STDOUT} command, the command is executed when
+   * the stream handler is set.
+   *
+   * @param sql the {@code COPY} command
+   * @return the stream of copied data
+   */
+  PgCopyOut copyTo(String sql);
+
   @Fluent
   PgConnection exceptionHandler(Handler<Throwable> handler);
 
@@ -43,6 +64,16 @@ public interface PgConnection extends PgOperations {
 
   boolean isSSL();
 
+  /**
+   * Send a cancel request to the server for the command executing on this connection. The request is sent
+   * on a separate connection, the command fails if it is still executing when the server processes the request.
+   * The server cancels the command it executes when it receives the request, with pipelined commands it may not be
+   * the command executing when the request is sent.
+   *
+   * @param handler the handler notified when the cancel request has been processed
+   */
+  void cancelRequest(Handler<AsyncResult<Void>> handler);
+
   /**
    * Close the current connection after all the pending commands have been processed.
    */
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * The format of the rows written to a {@link PgCopyIn}, it must match the format of the {@code COPY} command.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public enum PgCopyFormat {
+
+  /**
+   * Tab separated values, the default format of {@code COPY}.
+   */
+  TEXT,
+
+  /**
+   * Comma separated values with the default quote and null options, i.e {@code WITH (FORMAT csv)}.
+   */
+  CSV,
+
+  /**
+   * The binary format, i.e {@code WITH (FORMAT binary)}.
+   */
+  BINARY
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+
+import java.util.List;
+
+/**
+ * The data copied to a table with a {@code COPY FROM STDIN} command.
+ * <p/>
+ * The data can be written as raw buffers of the copy format or as rows encoded by the stream with
+ * {@link #writeRow(List)}, the stream must be ended to complete the command.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public interface PgCopyIn extends WriteStream<Buffer> {
+
+  @Override
+  PgCopyIn exceptionHandler(Handler<Throwable> handler);
+
+  @Override
+  PgCopyIn write(Buffer data);
+
+  /**
+   * Set the format used to encode the rows written with {@link #writeRow(List)}, the default is
+   * {@link PgCopyFormat#TEXT}.
+   *
+   * @param format the format
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgCopyIn format(PgCopyFormat format);
+
+  /**
+   * Encode and write a row, the {@code null} values are copied as {@code NULL}.
+   * <p/>
+   * With the {@link PgCopyFormat#BINARY} format the Java type of the values must match the type of the
+   * columns, e.g an {@code Integer} for an {@code INT4} column and a {@code Long} for an {@code INT8} column.
+   *
+   * @param row the values of the row
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgCopyIn writeRow(List<Object> row);
+
+  @Override
+  PgCopyIn setWriteQueueMaxSize(int maxSize);
+
+  @Override
+  PgCopyIn drainHandler(Handler<Void> handler);
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * The data copied from a table with a {@code COPY TO STDOUT} command, the buffers are the data sent by the backend
+ * in the copy format and are not decoded into rows.
+ * <p/>
+ * Setting a {@link #handler} executes the command.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public interface PgCopyOut extends ReadStream<Buffer> {
+
+  @Override
+  PgCopyOut exceptionHandler(Handler<Throwable> handler);
+
+  @Override
+  PgCopyOut handler(Handler<Buffer> handler);
+
+  @Override
+  PgCopyOut pause();
+
+  @Override
+  PgCopyOut resume();
+
+  @Override
+  PgCopyOut endHandler(Handler<Void> endHandler);
+
+}
@@ -20,6 +20,7 @@ package com.julienviet.pgclient;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
 
 /**
  * A pool of connection.
@@ -36,6 +37,41 @@ public interface PgPool extends PgOperations {
    */
   void getConnection(Handler<AsyncResult<PgConnection>> handler);
 
+  /**
+   * Open the {@link PgPoolOptions#getMinIdle() min idle} connections of the pool, at least one, so the first
+   * commands don't pay the cost of connecting to the database.
+   *
+   * @param completionHandler the handler notified when the connections are open
+   */
+  void warmUp(Handler<AsyncResult<Void>> completionHandler);
+
+  /**
+   * Collect the metrics of the pool:
+   *
+   * <ul>
+   *   <li>{@code waitQueueSize}: the number of commands and connection requests waiting for a connection</li>
+   *   <li>{@code queueDepths}: the number of commands executing or waiting to be executed on each connection</li>
+   *   <li>{@code preparedStatementCache}: the {@code hits}, {@code misses} and {@code evictions} of the prepared
+   *   statement caches of the connections, see {@link PgClientOptions#setCachePreparedStatements(boolean)}</li>
+   * </ul>
+   *
+   * @param handler the handler notified with the metrics
+   */
+  void metrics(Handler<AsyncResult<JsonObject>> handler);
+
+  /**
+   * Invalidate the cached results of a prepared query for all its parameters, see
+   * {@link PgPoolOptions#setResultCacheMaxSize(int)}.
+   *
+   * @param sql the query SQL
+   */
+  void invalidate(String sql);
+
+  /**
+   * Invalidate all the cached results of prepared queries.
+   */
+  void invalidateAll();
+
   /**
    * Close the pool and release the associated resources.
    */
@@ -30,9 +30,33 @@ public class PgPoolOptions {
 
   public static final int DEFAULT_MAX_POOL_SIZE = 4;
   public static final PoolingMode DEFAULT_MODE = PoolingMode.CONNECTION;
+  public static final boolean DEFAULT_PER_EVENT_LOOP = false;
+  public static final int DEFAULT_MIN_IDLE = 0;
+  public static final int DEFAULT_MAX_WAIT_QUEUE_SIZE = -1;
+  public static final long DEFAULT_ACQUIRE_TIMEOUT = 0;
+  public static final long DEFAULT_IDLE_TIMEOUT = 0;
+  public static final long DEFAULT_MAX_LIFETIME = 0;
+  public static final boolean DEFAULT_VALIDATE_ON_BORROW = false;
+  public static final long DEFAULT_VALIDATION_INTERVAL = 0;
+  public static final boolean DEFAULT_READ_ROUTING = false;
+  public static final int DEFAULT_RESULT_CACHE_MAX_SIZE = 0;
+  public static final long DEFAULT_RESULT_CACHE_TTL = 0;
+  public static final boolean DEFAULT_COALESCE_QUERIES = false;
 
   private int maxSize = DEFAULT_MAX_POOL_SIZE;
   private PoolingMode mode = DEFAULT_MODE;
+  private boolean perEventLoop = DEFAULT_PER_EVENT_LOOP;
+  private int minIdle = DEFAULT_MIN_IDLE;
+  private int maxWaitQueueSize = DEFAULT_MAX_WAIT_QUEUE_SIZE;
+  private long acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+  private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+  private long maxLifetime = DEFAULT_MAX_LIFETIME;
+  private boolean validateOnBorrow = DEFAULT_VALIDATE_ON_BORROW;
+  private long validationInterval = DEFAULT_VALIDATION_INTERVAL;
+  private boolean readRouting = DEFAULT_READ_ROUTING;
+  private int resultCacheMaxSize = DEFAULT_RESULT_CACHE_MAX_SIZE;
+  private long resultCacheTtl = DEFAULT_RESULT_CACHE_TTL;
+  private boolean coalesceQueries = DEFAULT_COALESCE_QUERIES;
 
   public PgPoolOptions() {
   }
@@ -44,6 +68,18 @@ public class PgPoolOptions {
   public PgPoolOptions(PgPoolOptions other) {
     maxSize = other.maxSize;
     mode = other.mode;
+    perEventLoop = other.perEventLoop;
+    minIdle = other.minIdle;
+    maxWaitQueueSize = other.maxWaitQueueSize;
+    acquireTimeout = other.acquireTimeout;
+    idleTimeout = other.idleTimeout;
+    maxLifetime = other.maxLifetime;
+    validateOnBorrow = other.validateOnBorrow;
+    validationInterval = other.validationInterval;
+    readRouting = other.readRouting;
+    resultCacheMaxSize = other.resultCacheMaxSize;
+    resultCacheTtl = other.resultCacheTtl;
+    coalesceQueries = other.coalesceQueries;
   }
 
   public int getMaxSize() {
@@ -66,4 +102,261 @@ public class PgPoolOptions {
     this.mode = mode;
     return this;
   }
+
+  /**
+   * @return whether the pool keeps a sub pool per event loop
+   */
+  public boolean getPerEventLoop() {
+    return perEventLoop;
+  }
+
+  /**
+   * Set whether the pool keeps a sub pool of at most {@link #getMaxSize()} connections per event loop, the commands
+   * are then executed on the connections of the event loop they are scheduled from instead of being handed off to the
+   * single event loop of the pool.
+   *
+   * @param perEventLoop true to keep a sub pool per event loop
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setPerEventLoop(boolean perEventLoop) {
+    this.perEventLoop = perEventLoop;
+    return this;
+  }
+
+  /**
+   * @return the minimum number of idle connections
+   */
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  /**
+   * Set the minimum number of idle connections the pool keeps open within its max size. The connections are opened
+   * when the pool is created and replaced in the background when they are borrowed or closed.
+   *
+   * @param minIdle the minimum number of idle connections
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setMinIdle(int minIdle) {
+    if (minIdle < 0) {
+      throw new IllegalArgumentException("Min idle cannot be negative");
+    }
+    this.minIdle = minIdle;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of waiters for a connection
+   */
+  public int getMaxWaitQueueSize() {
+    return maxWaitQueueSize;
+  }
+
+  /**
+   * Set the maximum number of commands and connection requests waiting for a connection, beyond this size they
+   * fail immediately with a {@link PgPoolBusyException}. The bound applies once the pool cannot open more
+   * connections, in all the pooling modes. The default value {@code -1} means the queue is unbounded.
+   *
+   * @param maxWaitQueueSize the maximum number of waiters
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setMaxWaitQueueSize(int maxWaitQueueSize) {
+    this.maxWaitQueueSize = maxWaitQueueSize;
+    return this;
+  }
+
+  /**
+   * @return the acquire timeout in milliseconds
+   */
+  public long getAcquireTimeout() {
+    return acquireTimeout;
+  }
+
+  /**
+   * Set the time in milliseconds a command or a connection request waits for a connection before failing with
+   * a {@link PgPoolBusyException}. The default value {@code 0} means it waits until a connection is available.
+   *
+   * @param acquireTimeout the acquire timeout in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setAcquireTimeout(long acquireTimeout) {
+    if (acquireTimeout < 0) {
+      throw new IllegalArgumentException("Acquire timeout cannot be negative");
+    }
+    this.acquireTimeout = acquireTimeout;
+    return this;
+  }
+
+  /**
+   * @return the idle timeout in milliseconds
+   */
+  public long getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  /**
+   * Set the time in milliseconds after which an idle connection is closed, the pool keeps at least
+   * {@link #getMinIdle()} idle connections. The default value {@code 0} means idle connections are not closed.
+   *
+   * @param idleTimeout the idle timeout in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setIdleTimeout(long idleTimeout) {
+    if (idleTimeout < 0) {
+      throw new IllegalArgumentException("Idle timeout cannot be negative");
+    }
+    this.idleTimeout = idleTimeout;
+    return this;
+  }
+
+  /**
+   * @return the max lifetime of a connection in milliseconds
+   */
+  public long getMaxLifetime() {
+    return maxLifetime;
+  }
+
+  /**
+   * Set the maximum time in milliseconds a connection is kept open, it is closed when it becomes idle after this
+   * time. The lifetime of each connection is shortened by a random amount of up to a tenth so the connections
+   * opened together are not recycled together. The default value {@code 0} means connections are kept open.
+   *
+   * @param maxLifetime the max lifetime in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setMaxLifetime(long maxLifetime) {
+    if (maxLifetime < 0) {
+      throw new IllegalArgumentException("Max lifetime cannot be negative");
+    }
+    this.maxLifetime = maxLifetime;
+    return this;
+  }
+
+  /**
+   * @return whether a connection is validated before it is borrowed
+   */
+  public boolean getValidateOnBorrow() {
+    return validateOnBorrow;
+  }
+
+  /**
+   * Set whether a connection that was used is validated with a {@code SELECT 1} query before it is borrowed again,
+   * an invalid connection is closed and another connection is borrowed instead.
+   *
+   * @param validateOnBorrow true to validate the connections on borrow
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setValidateOnBorrow(boolean validateOnBorrow) {
+    this.validateOnBorrow = validateOnBorrow;
+    return this;
+  }
+
+  /**
+   * @return the background validation interval in milliseconds
+   */
+  public long getValidationInterval() {
+    return validationInterval;
+  }
+
+  /**
+   * Set the interval in milliseconds at which idle connections are validated in the background with a
+   * {@code SELECT 1} query, an invalid connection is closed. The default value {@code 0} disables the background
+   * validation.
+   *
+   * @param validationInterval the validation interval in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setValidationInterval(long validationInterval) {
+    if (validationInterval < 0) {
+      throw new IllegalArgumentException("Validation interval cannot be negative");
+    }
+    this.validationInterval = validationInterval;
+    return this;
+  }
+
+  /**
+   * @return whether the queries are routed to the standby servers
+   */
+  public boolean getReadRouting() {
+    return readRouting;
+  }
+
+  /**
+   * Set to {@code true} to route the queries to the standby servers of the client hosts and the updates to the
+   * primary server. The queries are the {@code query} and {@code preparedQuery} operations, they are executed on
+   * the primary server when no standby server is available. The connections and the other operations always use the
+   * primary server.
+   *
+   * @param readRouting true to route the queries to the standby servers
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setReadRouting(boolean readRouting) {
+    this.readRouting = readRouting;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of prepared query results cached by the pool
+   */
+  public int getResultCacheMaxSize() {
+    return resultCacheMaxSize;
+  }
+
+  /**
+   * Set the maximum number of {@code preparedQuery} results cached by the pool, keyed by their SQL and parameters,
+   * the least recently used results are evicted first. The default value {@code 0} disables the cache.
+   *
+   * @param resultCacheMaxSize the maximum number of cached results
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setResultCacheMaxSize(int resultCacheMaxSize) {
+    if (resultCacheMaxSize < 0) {
+      throw new IllegalArgumentException("Result cache max size cannot be negative");
+    }
+    this.resultCacheMaxSize = resultCacheMaxSize;
+    return this;
+  }
+
+  /**
+   * @return the time to live of the cached results in milliseconds
+   */
+  public long getResultCacheTtl() {
+    return resultCacheTtl;
+  }
+
+  /**
+   * Set the time in milliseconds a cached result is used before the query is executed again. The default
+   * value {@code 0} keeps the results until they are evicted or invalidated.
+   *
+   * @param resultCacheTtl the time to live in milliseconds
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setResultCacheTtl(long resultCacheTtl) {
+    if (resultCacheTtl < 0) {
+      throw new IllegalArgumentException("Result cache TTL cannot be negative");
+    }
+    this.resultCacheTtl = resultCacheTtl;
+    return this;
+  }
+
+  /**
+   * @return whether identical concurrent prepared queries are coalesced
+   */
+  public boolean getCoalesceQueries() {
+    return coalesceQueries;
+  }
+
+  /**
+   * Set to {@code true} to execute once the {@code preparedQuery} calls with the same SQL and parameters that
+   * are issued while such a query is executing, they all get the result of this query. The queries must not have
+   * side effects. The queries are always coalesced when the {@link #setResultCacheMaxSize(int) result cache} is
+   * enabled.
+   *
+   * @param coalesceQueries true to coalesce the identical concurrent queries
+   * @return a reference to this, so the API can be used fluently
+   */
+  public PgPoolOptions setCoalesceQueries(boolean coalesceQueries) {
+    this.coalesceQueries = coalesceQueries;
+    return this;
+  }
 }
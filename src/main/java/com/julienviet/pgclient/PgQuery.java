@@ -38,6 +38,41 @@ public interface PgQuery extends ReadStream<ResultSet> {
   @Fluent
   PgQuery fetch(int size);
 
+  /**
+   * Adapt the fetch size of the query after each round trip so the rows fetched at once amount to approximately
+   * {@code bytes}, the size of the rows is observed on the rows received by the previous round trip.
+   * <p/>
+   * The {@link #fetch(int)} size is used for the first round trip.
+   *
+   * It is only valid for prepared queries executed with the streaming API.
+   *
+   * @param bytes the target size in bytes of the rows fetched per round trip or {@code 0} to disable it
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgQuery adaptiveFetch(int bytes);
+
+  /**
+   * Set a timeout in milliseconds after which the execution of the query is cancelled, it overrides the
+   * {@link PgClientOptions#getQueryTimeout() client query timeout}.
+   *
+   * @param timeout the timeout in milliseconds or {@code 0} to use the client query timeout
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgQuery timeout(long timeout);
+
+  /**
+   * Cancel the execution of the query. A query not yet sent to the server is failed. A query executing alone on
+   * its connection is cancelled with a cancel request to the server which fails the query if it is still executing,
+   * the next commands are sent once the server has processed the request. A query pipelined with other commands
+   * is failed and its response is discarded, the server still executes it as a cancel request could cancel
+   * another command.
+   *
+   * @param handler the handler notified when the cancel request has been processed
+   */
+  void cancel(Handler<AsyncResult<Void>> handler);
+
   default void execute(Handler<AsyncResult<ResultSet>> handler) {
     Future<ResultSet> fut = Future.future();
     fut.setHandler(handler);
@@ -50,6 +85,20 @@ public interface PgQuery extends ReadStream<ResultSet> {
 
   PgQuery handler(Handler<ResultSet> handler);
 
+  /**
+   * Set a handler called with each row of the query as soon as it is decoded, the rows are then not accumulated
+   * in the result sets passed to the {@link #handler}.
+   * <p/>
+   * The {@link Row} is a cursor reused for each row of the query, it is only valid during the callback.
+   * <p/>
+   * Setting a row handler executes the query like setting a {@link #handler} does.
+   *
+   * @param handler the row handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgQuery rowHandler(Handler<Row> handler);
+
   PgQuery pause();
 
   PgQuery resume();
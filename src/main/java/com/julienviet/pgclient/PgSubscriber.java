@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import com.julienviet.pgclient.impl.PgClientImpl;
+import com.julienviet.pgclient.impl.PgSubscriberImpl;
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+import java.util.function.Function;
+
+/**
+ * A subscriber to {@code LISTEN}/{@code NOTIFY} channels. The subscriber holds a single connection to the database,
+ * the channels subscriptions are multiplexed over this connection and their notifications are dispatched to the
+ * channels handlers on their own context.
+ * <p/>
+ * When the connection is lost, the subscriber reconnects according to its reconnect policy and subscribes again
+ * to its channels.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public interface PgSubscriber {
+
+  /**
+   * Create a subscriber using the connections of the {@code client}.
+   *
+   * @param client the client
+   * @return the subscriber
+   */
+  static PgSubscriber subscriber(PgClient client) {
+    return new PgSubscriberImpl((PgClientImpl) client);
+  }
+
+  /**
+   * Return a channel for the given {@code name}, the channel name is case sensitive. The channels with the same name
+   * share the same subscription.
+   *
+   * @param name the channel name
+   * @return the channel
+   */
+  PgChannel channel(String name);
+
+  /**
+   * Connect the subscriber to the database.
+   *
+   * @param handler the handler notified when the subscriber is connected
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgSubscriber connect(Handler<AsyncResult<Void>> handler);
+
+  /**
+   * Set the reconnect policy called when the connection is lost with the number of reconnect attempts, starting
+   * at {@code 0}. The policy returns the delay in milliseconds before the next attempt or a negative value to close
+   * the subscriber. The default policy reconnects every second.
+   *
+   * @param policy the policy
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgSubscriber reconnectPolicy(Function<Integer, Long> policy);
+
+  /**
+   * Set an handler called when the subscriber is closed.
+   *
+   * @param handler the handler
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  PgSubscriber closeHandler(Handler<Void> handler);
+
+  /**
+   * @return whether the subscriber is closed
+   */
+  boolean closed();
+
+  /**
+   * Close the subscriber, its channels are ended.
+   */
+  void close();
+
+}
@@ -28,8 +28,15 @@ public enum PoolingMode {
   CONNECTION,
 
   /**
-   * A physical connection is borrwoed for the execution of each statement.
+   * A physical connection is borrowed for the execution of each statement, the statements are pipelined on up to
+   * max size connections and each statement is executed on the least loaded connection.
    */
-  STATEMENT
+  STATEMENT,
+
+  /**
+   * Like {@link #STATEMENT} but a connection executes at most {@link PgClientOptions#getPipeliningLimit()} statements,
+   * the statements wait in the pool when all the connections reached this limit.
+   */
+  PIPELINED
 
 }
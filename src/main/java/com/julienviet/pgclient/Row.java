@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.julienviet.pgclient;
+
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+
+/**
+ * A cursor over the row of a query result, it is reused for each row of the query and values are decoded
+ * when they are accessed.
+ * <p/>
+ * The row is only valid during the callback of the {@link PgQuery#rowHandler}, a row needed after the callback
+ * must be obtained with {@link #retain()}.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@VertxGen
+public interface Row {
+
+  /**
+   * @return the number of columns of the row
+   */
+  int size();
+
+  /**
+   * Retain this row so it can be used after the callback, the returned row keeps the undecoded bytes of the row
+   * and still decodes its columns only when they are accessed.
+   * <p/>
+   * The returned row holds a reference on the connection inbound buffer, it must be released with {@link #release()}
+   * when it is not needed anymore.
+   *
+   * @return the retained row
+   */
+  Row retain();
+
+  /**
+   * Release a row obtained with {@link #retain()}, the row cannot be used afterwards.
+   *
+   * @return true when the row was retained and has been released
+   */
+  boolean release();
+
+  /**
+   * Get the column name at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the column name
+   */
+  String getColumnName(int pos);
+
+  /**
+   * Get the value at {@code pos}, the value is decoded as in a {@link ResultSet}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  Object getValue(int pos);
+
+  /**
+   * Get a boolean value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  Boolean getBoolean(int pos);
+
+  /**
+   * Get an integer value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  Integer getInteger(int pos);
+
+  /**
+   * Get a long value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  Long getLong(int pos);
+
+  /**
+   * Get a float value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  Float getFloat(int pos);
+
+  /**
+   * Get a double value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  Double getDouble(int pos);
+
+  /**
+   * Get a string value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  String getString(int pos);
+
+  /**
+   * Get a json object value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  JsonObject getJsonObject(int pos);
+
+  /**
+   * Get a json array value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  JsonArray getJsonArray(int pos);
+
+  /**
+   * Get an instant value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  @GenIgnore
+  Instant getInstant(int pos);
+
+  /**
+   * Get a binary value at {@code pos}.
+   *
+   * @param pos the column position
+   * @return the value or {@code null}
+   */
+  @GenIgnore
+  byte[] getBinary(int pos);
+
+}
@@ -24,7 +24,7 @@ package com.julienviet.pgclient.codec;
 public enum  DataFormat {
   TEXT(0),
   BINARY(1);
-  final int id;
+  public final int id;
   DataFormat(int id) {
     this.id = id;
   }
@@ -24,8 +24,12 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
@@ -33,6 +37,7 @@ import java.time.ZoneOffset;
 import static com.julienviet.pgclient.codec.formatter.DateTimeFormatter.TIMESTAMPTZ_FORMAT;
 import static com.julienviet.pgclient.codec.formatter.DateTimeFormatter.TIMESTAMP_FORMAT;
 import static com.julienviet.pgclient.codec.formatter.TimeFormatter.TIMETZ_FORMAT;
+import static com.julienviet.pgclient.codec.formatter.TimeFormatter.TIME_FORMAT;
 
 /**
  * PostgreSQL <a href="https://github.com/postgres/postgres/blob/master/src/include/catalog/pg_type.h">object
@@ -43,7 +48,7 @@ import static com.julienviet.pgclient.codec.formatter.TimeFormatter.TIMETZ_FORMA
 
 public enum DataType {
   // 1 byte
-  BOOL(16) {
+  BOOL(16, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       if(buff.readByte() == 't') {
@@ -52,78 +57,165 @@ public enum DataType {
         return Boolean.FALSE;
       }
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return buff.readBoolean();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == Boolean.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeBoolean((Boolean) value);
+    }
   },
-  BOOL_ARRAY(1000),
+  BOOL_ARRAY(1000, BOOL),
   // 2 bytes
-  INT2(21) {
+  INT2(21, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       return (short)DataType.decodeInt(len, buff);
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return buff.readShort();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == Short.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeShort((Short) value);
+    }
   },
-  INT2_ARRAY(1005),
+  INT2_ARRAY(1005, INT2),
   // 4 bytes
-  INT4(23) {
+  INT4(23, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       return (int)DataType.decodeInt(len, buff); // HOT
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return buff.readInt(); // HOT
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      Class<?> type = value.getClass();
+      return type == Integer.class || type == Short.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeInt(((Number) value).intValue());
+    }
   },
-  INT4_ARRAY(1007),
+  INT4_ARRAY(1007, INT4),
   // 8 bytes
-  INT8(20) {
+  INT8(20, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       return DataType.decodeInt(len, buff);
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return buff.readLong();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      Class<?> type = value.getClass();
+      return type == Long.class || type == Integer.class || type == Short.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeLong(((Number) value).longValue());
+    }
   },
-  INT8_ARRAY(1016),
+  INT8_ARRAY(1016, INT8),
   // 4 bytes single-precision floating point number
-  FLOAT4(700) {
+  FLOAT4(700, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       // Todo optimize that
       CharSequence cs = buff.readCharSequence(len, StandardCharsets.UTF_8);
       return Float.parseFloat(cs.toString());
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return buff.readFloat();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == Float.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeFloat((Float) value);
+    }
   },
-  FLOAT4_ARRAY(1021),
+  FLOAT4_ARRAY(1021, FLOAT4),
   // 8 bytes double-precision floating point number
-  FLOAT8(701) {
+  FLOAT8(701, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       // Todo optimize that
       CharSequence cs = buff.readCharSequence(len, StandardCharsets.UTF_8);
       return Double.parseDouble(cs.toString());
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return buff.readDouble();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == Double.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeDouble((Double) value);
+    }
   },
-  FLOAT8_ARRAY(1022),
+  FLOAT8_ARRAY(1022, FLOAT8),
   // User specified precision
-  NUMERIC(1700) {
+  NUMERIC(1700, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       // Todo optimize that
       CharSequence cs = buff.readCharSequence(len, StandardCharsets.UTF_8);
-      BigDecimal big = new BigDecimal(cs.toString());
-      // julien : that does not seem consistent to either return a Double or BigInteger
-      if (big.scale() == 0) {
-        return big.toBigInteger();
-      } else {
-        // we might loose precision here
-        return big.doubleValue();
+      return DataType.decodeNumeric(new BigDecimal(cs.toString()));
+    }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      int ndigits = buff.readUnsignedShort();
+      short weight = buff.readShort();
+      int sign = buff.readUnsignedShort();
+      int dscale = buff.readUnsignedShort();
+      if (sign == NUMERIC_NAN) {
+        return Double.NaN;
       }
+      // Base 10000 digits, the first one being weighted by 10000^weight
+      BigInteger unscaled = BigInteger.ZERO;
+      for (int i = 0;i < ndigits;i++) {
+        unscaled = unscaled.multiply(NUMERIC_BASE).add(BigInteger.valueOf(buff.readShort()));
+      }
+      BigDecimal big = new BigDecimal(unscaled, 4 * (ndigits - weight - 1)).setScale(dscale);
+      if (sign == NUMERIC_NEG) {
+        big = big.negate();
+      }
+      return DataType.decodeNumeric(big);
     }
   },
-  NUMERIC_ARRAY(1231),
+  NUMERIC_ARRAY(1231, NUMERIC),
   // 8 bytes double
   MONEY(790),
-  MONEY_ARRAY(791),
+  MONEY_ARRAY(791, MONEY),
   // Fixed length bit string
   BIT(1560),
-  BIT_ARRAY(1561),
+  BIT_ARRAY(1561, BIT),
   // Limited length bit string
   VARBIT(1562),
-  VARBIT_ARRAY(1563),
+  VARBIT_ARRAY(1563, VARBIT),
   // Single length character
   CHAR(18) {
     @Override
@@ -131,57 +223,149 @@ public enum DataType {
       return (char)buff.readByte();
     }
   },
-  CHAR_ARRAY(1002),
+  CHAR_ARRAY(1002, CHAR),
   // Limited length string
-  VARCHAR(1043),
-  VARCHAR_ARRAY(1015),
+  VARCHAR(1043) {
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == String.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeCharSequence((String) value, StandardCharsets.UTF_8);
+    }
+  },
+  VARCHAR_ARRAY(1015, VARCHAR),
   // Limited blank padded length string
   BPCHAR(1042),
-  BPCHAR_ARRAY(1014),
+  BPCHAR_ARRAY(1014, BPCHAR),
   // Unlimited length string
-  TEXT(25),
-  TEXT_ARRAY(1009),
+  TEXT(25) {
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == String.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeCharSequence((String) value, StandardCharsets.UTF_8);
+    }
+  },
+  TEXT_ARRAY(1009, TEXT),
   // 63 bytes length string (internal type for object names)
   NAME(19),
-  NAME_ARRAY(1003),
+  NAME_ARRAY(1003, NAME),
   // 4 bytes date (no time of day)
-  DATE(1082),
-  DATE_ARRAY(1182),
+  DATE(1082, true) {
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      int days = buff.readInt();
+      if (days == Integer.MAX_VALUE) {
+        return "infinity";
+      } else if (days == Integer.MIN_VALUE) {
+        return "-infinity";
+      }
+      return PG_EPOCH.toLocalDate().plusDays(days).toString();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == LocalDate.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeInt((int) (((LocalDate) value).toEpochDay() - PG_EPOCH_DAYS));
+    }
+  },
+  DATE_ARRAY(1182, DATE),
   // 8 bytes time of day (no date) without time zone
-  TIME(1083),
-  TIME_ARRAY(1183),
+  TIME(1083, true) {
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      long micros = buff.readLong();
+      if (micros == MICROS_PER_DAY) {
+        return "24:00:00";
+      }
+      return LocalTime.ofNanoOfDay(micros * 1000).format(TIME_FORMAT);
+    }
+  },
+  TIME_ARRAY(1183, TIME),
   // 12 bytes time of day (no date) with time zone
-  TIMETZ(1266) {
+  TIMETZ(1266, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       CharSequence cs = buff.readCharSequence(len, StandardCharsets.UTF_8);
       return OffsetTime.parse(cs, TIMETZ_FORMAT).toString(); // julien: why toString ?
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      long micros = buff.readLong();
+      // The zone is expressed in seconds west of UTC
+      int zone = buff.readInt();
+      return OffsetTime.of(LocalTime.ofNanoOfDay(micros * 1000), ZoneOffset.ofTotalSeconds(-zone)).toString();
+    }
   },
-  TIMETZ_ARRAY(1270),
+  TIMETZ_ARRAY(1270, TIMETZ),
   // 8 bytes date and time without time zone
-  TIMESTAMP(1114) {
+  TIMESTAMP(1114, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       CharSequence cs = buff.readCharSequence(len, StandardCharsets.UTF_8);
       return LocalDateTime.parse(cs, TIMESTAMP_FORMAT).toInstant(ZoneOffset.UTC);
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return DataType.decodeTimestamp(buff.readLong());
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      // The backend ignores the zone of an instant sent in text format, i.e it is read as UTC
+      Class<?> type = value.getClass();
+      return type == LocalDateTime.class || type == Instant.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      Instant instant;
+      if (value.getClass() == LocalDateTime.class) {
+        instant = ((LocalDateTime) value).toInstant(ZoneOffset.UTC);
+      } else {
+        instant = (Instant) value;
+      }
+      buff.writeLong(DataType.encodeTimestamp(instant));
+    }
   },
-  TIMESTAMP_ARRAY(1115),
+  TIMESTAMP_ARRAY(1115, TIMESTAMP),
   // 8 bytes date and time with time zone
-  TIMESTAMPTZ(1184) {
+  TIMESTAMPTZ(1184, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       CharSequence cs = buff.readCharSequence(len, StandardCharsets.UTF_8);
       return OffsetDateTime.parse(cs, TIMESTAMPTZ_FORMAT).toInstant();
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      return DataType.decodeTimestamp(buff.readLong());
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      Class<?> type = value.getClass();
+      return type == Instant.class || type == OffsetDateTime.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      Instant instant;
+      if (value.getClass() == OffsetDateTime.class) {
+        instant = ((OffsetDateTime) value).toInstant();
+      } else {
+        instant = (Instant) value;
+      }
+      buff.writeLong(DataType.encodeTimestamp(instant));
+    }
   },
-  TIMESTAMPTZ_ARRAY(1185),
+  TIMESTAMPTZ_ARRAY(1185, TIMESTAMPTZ),
   // 16 bytes time interval
   INTERVAL(1186),
-  INTERVAL_ARRAY(1187),
+  INTERVAL_ARRAY(1187, INTERVAL),
   // 1 or 4 bytes plus the actual binary string
-  BYTEA(17) {
+  BYTEA(17, true) {
     @Override
     public Object decodeText(int len, ByteBuf buff) {
       buff.readByte(); // \
@@ -195,6 +379,20 @@ public enum DataType {
       }
       return bytes;
     }
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      byte[] bytes = new byte[len];
+      buff.readBytes(bytes);
+      return bytes;
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == byte[].class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      buff.writeBytes((byte[]) value);
+    }
     private byte decodeHexChar(byte b) {
       if (b >= '0' && b <= '9') {
         return (byte)(b - '0');
@@ -203,7 +401,7 @@ public enum DataType {
       }
     }
   },
-  BYTEA_ARRAY(1001),
+  BYTEA_ARRAY(1001, BYTEA),
   // 6 bytes MAC address (XX:XX:XX:XX:XX:XX)
   MACADDR(829),
   // 7 or 19 bytes (IPv4 and IPv6 hosts and networks)
@@ -213,8 +411,25 @@ public enum DataType {
   // 8 bytes MAC address (XX:XX:XX:XX:XX:XX:XX:XX)
   MACADDR8(774),
   // UUID
-  UUID(2950),
-  UUID_ARRAY(2951),
+  UUID(2950, true) {
+    @Override
+    public Object decodeBinary(int len, ByteBuf buff) {
+      long mostSigBits = buff.readLong();
+      long leastSigBits = buff.readLong();
+      return new java.util.UUID(mostSigBits, leastSigBits).toString();
+    }
+    @Override
+    public boolean canEncodeBinary(Object value) {
+      return value.getClass() == java.util.UUID.class;
+    }
+    @Override
+    public void encodeBinary(Object value, ByteBuf buff) {
+      java.util.UUID uuid = (java.util.UUID) value;
+      buff.writeLong(uuid.getMostSignificantBits());
+      buff.writeLong(uuid.getLeastSignificantBits());
+    }
+  },
+  UUID_ARRAY(2951, UUID),
   // Text JSON
   JSON(114) {
     @Override
@@ -236,7 +451,7 @@ public enum DataType {
   },
   // XML
   XML(142),
-  XML_ARRAY(143),
+  XML_ARRAY(143, XML),
   // Geometric point (x, y)
   POINT(600),
   // Geometric box (lower left, upper right)
@@ -244,7 +459,7 @@ public enum DataType {
   HSTORE(33670),
   // Object identifier
   OID(26),
-  OID_ARRAY(1028),
+  OID_ARRAY(1028, OID),
   VOID(2278),
   UNKNOWN(705);
 
@@ -256,6 +471,39 @@ public enum DataType {
     return value;
   }
 
+  private static final BigInteger NUMERIC_BASE = BigInteger.valueOf(10000);
+  private static final int NUMERIC_NEG = 0x4000;
+  private static final int NUMERIC_NAN = 0xC000;
+  private static final long MICROS_PER_DAY = 24L * 60 * 60 * 1000 * 1000;
+  private static final OffsetDateTime PG_EPOCH = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+  private static final long PG_EPOCH_SECONDS = PG_EPOCH.toEpochSecond();
+  private static final long PG_EPOCH_DAYS = PG_EPOCH.toLocalDate().toEpochDay();
+
+  private static Object decodeNumeric(BigDecimal big) {
+    // julien : that does not seem consistent to either return a Double or BigInteger
+    if (big.scale() == 0) {
+      return big.toBigInteger();
+    } else {
+      // we might loose precision here
+      return big.doubleValue();
+    }
+  }
+
+  private static Instant decodeTimestamp(long micros) {
+    if (micros == Long.MAX_VALUE) {
+      return Instant.MAX;
+    } else if (micros == Long.MIN_VALUE) {
+      return Instant.MIN;
+    }
+    // Microseconds since the 2000-01-01 PostgreSQL epoch
+    return Instant.ofEpochSecond(PG_EPOCH_SECONDS + Math.floorDiv(micros, 1000000), Math.floorMod(micros, 1000000) * 1000);
+  }
+
+  private static long encodeTimestamp(Instant instant) {
+    // Round to the microsecond like the backend does with the text format
+    return (instant.getEpochSecond() - PG_EPOCH_SECONDS) * 1000000 + (instant.getNano() + 500) / 1000;
+  }
+
   private static Object decodeJson(String value) {
     if(value.charAt(0)== '{') {
       return new JsonObject(value);
@@ -273,8 +521,25 @@ public enum DataType {
   }
 
   private final int id;
+  private final boolean supportsBinary;
+  private final DataType elementType;
+
   DataType(int id) {
+    this(id, false, null);
+  }
+
+  DataType(int id, boolean supportsBinary) {
+    this(id, supportsBinary, null);
+  }
+
+  DataType(int id, DataType elementType) {
+    this(id, false, elementType);
+  }
+
+  DataType(int id, boolean supportsBinary, DataType elementType) {
     this.id = id;
+    this.supportsBinary = supportsBinary;
+    this.elementType = elementType;
   }
 
   public static DataType valueOf(int id) {
@@ -282,6 +547,13 @@ public enum DataType {
     return value != null ? value : DataType.UNKNOWN;
   }
 
+  /**
+   * @return true when the type has a binary decoder and its columns can be requested in {@link DataFormat#BINARY} format
+   */
+  public boolean supportsBinary() {
+    return supportsBinary;
+  }
+
   public Object decodeText(int len, ByteBuf buff) {
     // Default best effort implementation
     return buff.readCharSequence(len, StandardCharsets.UTF_8).toString();
@@ -297,4 +569,70 @@ public enum DataType {
     // Not implemented
     return null;
   }
+
+  /**
+   * @return the element type of an array type or {@code null}
+   */
+  public DataType elementType() {
+    return elementType;
+  }
+
+  /**
+   * @param value the non null parameter value
+   * @return true when the value can be sent in binary format for a parameter of this type
+   */
+  public boolean canEncodeBinary(Object value) {
+    if (elementType != null && value instanceof Object[]) {
+      // An array is sent in binary format when all its elements can be
+      for (Object element : (Object[]) value) {
+        if (element != null && !elementType.canEncodeBinary(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  public void encodeBinary(Object value, ByteBuf buff) {
+    if (elementType != null) {
+      encodeArray((Object[]) value, buff);
+    } else {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Encode a one dimension array in binary format.
+   */
+  private void encodeArray(Object[] array, ByteBuf buff) {
+    if (array.length == 0) {
+      buff.writeInt(0); // Dimensions
+      buff.writeInt(0); // Flags
+      buff.writeInt(elementType.id);
+      return;
+    }
+    boolean hasNull = false;
+    for (Object element : array) {
+      if (element == null) {
+        hasNull = true;
+        break;
+      }
+    }
+    buff.writeInt(1); // Dimensions
+    buff.writeInt(hasNull ? 1 : 0);
+    buff.writeInt(elementType.id);
+    buff.writeInt(array.length);
+    buff.writeInt(1); // Lower bound
+    for (Object element : array) {
+      if (element == null) {
+        buff.writeInt(-1);
+      } else {
+        int idx = buff.writerIndex();
+        buff.writeInt(0);
+        elementType.encodeBinary(element, buff);
+        buff.setInt(idx, buff.writerIndex() - idx - 4);
+      }
+    }
+  }
 }
@@ -17,7 +17,6 @@
 
 package com.julienviet.pgclient.codec.decoder;
 
-import com.julienviet.pgclient.ResultSet;
 import com.julienviet.pgclient.codec.Column;
 import com.julienviet.pgclient.codec.DataFormat;
 import com.julienviet.pgclient.codec.DataType;
@@ -27,9 +26,7 @@ import com.julienviet.pgclient.codec.util.Util;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import io.vertx.core.json.JsonArray;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.julienviet.pgclient.codec.decoder.message.type.AuthenticationType.*;
@@ -47,9 +44,6 @@ import static java.nio.charset.StandardCharsets.*;
 
 public class MessageDecoder extends ByteToMessageDecoder {
 
-  private Column[] columns;
-  private ResultSet resultSet;
-
   @Override
   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
     while (true) {
@@ -105,23 +99,17 @@ public class MessageDecoder extends ByteToMessageDecoder {
       }
       break;
       case ROW_DESCRIPTION: {
-        columns = decodeRowDescription(in);
-        ArrayList<String> columnNames = new ArrayList<>(columns.length);
-        for (Column column : columns) {
-          columnNames.add(column.getName());
-        }
-        resultSet = new ResultSet().setColumnNames(columnNames).setResults(new ArrayList<>());
+        out.add(new RowDescription(decodeRowDescription(in)));
       }
       break;
       case DATA_ROW: {
-        JsonArray result = decodeDataRow(in, columns);
-        resultSet.getResults().add(result); // HOT (TLAB)
+        // The row is decoded by the command, retaining the message slice prevents the cumulation buffer to be
+        // discarded until the row is released
+        out.add(new DataRow(in.retain())); // HOT
       }
       break;
       case COMMAND_COMPLETE: {
         decodeCommandComplete(in, out);
-        columns = null;
-        resultSet = null;
       }
       break;
       case EMPTY_QUERY_RESPONSE: {
@@ -146,8 +134,6 @@ public class MessageDecoder extends ByteToMessageDecoder {
       break;
       case PORTAL_SUSPENDED: {
         decodePortalSuspended(out);
-        columns = null;
-        resultSet = null;
       }
       break;
       case PARAMETER_DESCRIPTION: {
@@ -166,6 +152,24 @@ public class MessageDecoder extends ByteToMessageDecoder {
         decodeNotificationResponse(in, out);
       }
       break;
+      case COPY_IN_RESPONSE: {
+        decodeCopyInResponse(in, out);
+      }
+      break;
+      case COPY_OUT_RESPONSE: {
+        decodeCopyOutResponse(in, out);
+      }
+      break;
+      case COPY_DATA: {
+        // Pass the copied bytes as is, retaining the message slice prevents the cumulation buffer to be
+        // discarded until the data is released
+        out.add(new CopyData(in.retain()));
+      }
+      break;
+      case COPY_DONE: {
+        out.add(CopyDone.INSTANCE);
+      }
+      break;
     }
   }
 
@@ -291,7 +295,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
     int prefixLen = spaceIdx1 - in.readerIndex();
 
     if (spaceIdx1 == -1) {
-      out.add(new CommandComplete(in.toString(UTF_8), rowsAffected, null));
+      out.add(new CommandComplete(in.toString(UTF_8), rowsAffected));
       return;
     }
 
@@ -300,7 +304,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
       String command = in.toString(in.readerIndex(), prefixLen, UTF_8);
       switch (command) {
         case SELECT: {
-          out.add(new CommandComplete(command, rowsAffected, resultSet));
+          out.add(new CommandComplete(command, rowsAffected));
         }
         break;
         case UPDATE:
@@ -310,7 +314,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
         case COPY: {
           rowsAffected = Integer.parseInt
             (in.toString(spaceIdx1 + 1, in.writerIndex() - spaceIdx1 - 2, UTF_8));
-          out.add(new CommandComplete(command, rowsAffected, null));
+          out.add(new CommandComplete(command, rowsAffected));
         }
         break;
         default:
@@ -329,7 +333,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
         String affectedRowsByteBuf = otherByteBuf.toString(otherSpace + 1,
           otherByteBuf.writerIndex() - otherSpace - 1, UTF_8);
         rowsAffected = Integer.parseInt(affectedRowsByteBuf);
-        out.add(new CommandComplete(command, rowsAffected, null));
+        out.add(new CommandComplete(command, rowsAffected));
       }
       break;
       default:
@@ -355,27 +359,6 @@ public class MessageDecoder extends ByteToMessageDecoder {
     return columns;
   }
 
-  private JsonArray decodeDataRow(ByteBuf in, Column[] columns) {
-    int len = in.readUnsignedShort();
-    JsonArray values = new JsonArray(new ArrayList(16)); // HOT
-    for (int c = 0; c < len; ++c) {
-      int length = in.readInt();
-      if (length != -1) {
-        Column desc = columns[c];
-        Object value;
-        if (desc.getDataFormat() == DataFormat.TEXT) {
-          value = desc.getDataType().decodeText(length, in);
-        } else {
-          value = desc.getDataType().decodeBinary(length, in);
-        }
-        values.add(value);
-      } else {
-        values.addNull();
-      }
-    }
-    return values;
-  }
-
   private void decodeReadyForQuery(ByteBuf in, List<Object> out) {
     out.add(new ReadyForQuery(TransactionStatus.valueOf(in.readByte())));
   }
@@ -397,7 +380,7 @@ public class MessageDecoder extends ByteToMessageDecoder {
   }
 
   private void decodePortalSuspended(List<Object> out) {
-    out.add(new PortalSuspended(resultSet));
+    out.add(PortalSuspended.INSTANCE);
   }
 
   private void decodeParameterDescription(ByteBuf in, List<Object> out) {
@@ -408,6 +391,17 @@ public class MessageDecoder extends ByteToMessageDecoder {
     out.add(new ParameterDescription(paramDataTypes));
   }
 
+  private void decodeCopyInResponse(ByteBuf in, List<Object> out) {
+    DataFormat format = DataFormat.valueOf(in.readByte());
+    // The per column formats are the same than the overall format
+    out.add(new CopyInResponse(format, in.readUnsignedShort()));
+  }
+
+  private void decodeCopyOutResponse(ByteBuf in, List<Object> out) {
+    DataFormat format = DataFormat.valueOf(in.readByte());
+    out.add(new CopyOutResponse(format, in.readUnsignedShort()));
+  }
+
   private void decodeParameterStatus(ByteBuf in, List<Object> out) {
     out.add(new ParameterStatus(Util.readCStringUTF8(in), Util.readCStringUTF8(in)));
   }
@@ -18,7 +18,6 @@
 package com.julienviet.pgclient.codec.decoder.message;
 
 
-import com.julienviet.pgclient.ResultSet;
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 
 import java.util.Objects;
@@ -31,16 +30,10 @@ public class CommandComplete implements InboundMessage {
 
   private final String command;
   private final int rowsAffected;
-  private final ResultSet resultSet;
 
-  public CommandComplete(String command, int rowsAffected, ResultSet resultSet) {
+  public CommandComplete(String command, int rowsAffected) {
     this.command = command;
     this.rowsAffected = rowsAffected;
-    this.resultSet = resultSet;
-  }
-
-  public ResultSet getResultSet() {
-    return resultSet;
   }
 
   public String getCommand() {
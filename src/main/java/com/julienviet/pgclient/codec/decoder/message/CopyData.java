@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.codec.decoder.message;
+
+import com.julienviet.pgclient.codec.decoder.InboundMessage;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Data copied by the backend during a {@code COPY TO STDOUT}, the buffer is a slice of the received bytes and is
+ * retained: the consumer must release it once the data has been processed.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+
+public class CopyData implements InboundMessage {
+
+  private final ByteBuf buffer;
+
+  public CopyData(ByteBuf buffer) {
+    this.buffer = buffer;
+  }
+
+  public ByteBuf getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public String toString() {
+    return "CopyData{" +
+      "length=" + buffer.readableBytes() +
+      '}';
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.codec.decoder.message;
+
+import com.julienviet.pgclient.codec.DataFormat;
+import com.julienviet.pgclient.codec.decoder.InboundMessage;
+
+/**
+ * The backend is ready to copy data from the frontend.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+
+public class CopyInResponse implements InboundMessage {
+
+  private final DataFormat format;
+  private final int columns;
+
+  public CopyInResponse(DataFormat format, int columns) {
+    this.format = format;
+    this.columns = columns;
+  }
+
+  /**
+   * @return the overall copy format
+   */
+  public DataFormat getFormat() {
+    return format;
+  }
+
+  /**
+   * @return the number of columns copied
+   */
+  public int getColumns() {
+    return columns;
+  }
+
+  @Override
+  public String toString() {
+    return "CopyInResponse{" +
+      "format=" + format +
+      ", columns=" + columns +
+      '}';
+  }
+}
@@ -17,7 +17,6 @@
 
 package com.julienviet.pgclient.codec.decoder.message;
 
-import com.julienviet.pgclient.ResultSet;
 import com.julienviet.pgclient.codec.encoder.message.Execute;
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 
@@ -33,15 +32,9 @@ import com.julienviet.pgclient.codec.decoder.InboundMessage;
 
 public class PortalSuspended implements InboundMessage {
 
-  private final ResultSet resultSet;
+  public static final PortalSuspended INSTANCE = new PortalSuspended();
 
-  public PortalSuspended(ResultSet resultSet) {
-    this.resultSet = resultSet;
-  }
-
-  public ResultSet getResultSet() {
-    return resultSet;
-  }
+  private PortalSuspended() {}
 
   @Override
   public String toString() {
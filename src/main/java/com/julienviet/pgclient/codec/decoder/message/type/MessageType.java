@@ -45,6 +45,10 @@ public class MessageType {
   public static final byte BIND_COMPLETE = '2';
   public static final byte CLOSE_COMPLETE = '3';
   public static final byte FUNCTION_RESULT = 'V';
+  public static final byte COPY_IN_RESPONSE = 'G';
+  public static final byte COPY_OUT_RESPONSE = 'H';
+  public static final byte COPY_DATA = 'd';
+  public static final byte COPY_DONE = 'c';
   public static final byte SSL_YES = 'S';
   public static final byte SSL_NO = 'N';
 }
@@ -17,6 +17,8 @@
 
 package com.julienviet.pgclient.codec.encoder.message;
 
+import com.julienviet.pgclient.codec.DataFormat;
+import com.julienviet.pgclient.codec.DataType;
 import com.julienviet.pgclient.codec.decoder.message.BindComplete;
 import com.julienviet.pgclient.codec.decoder.message.ErrorResponse;
 import com.julienviet.pgclient.codec.encoder.OutboundMessage;
@@ -48,6 +50,8 @@ public class Bind implements OutboundMessage {
   private String portal;
   private List<Object> paramValues;
   private int[] paramFormats;
+  private DataType[] paramTypes;
+  private DataFormat[] resultFormats;
 
   public Bind setParamValues(List<Object> paramValues) {
     this.paramValues = paramValues;
@@ -63,6 +67,27 @@ public class Bind implements OutboundMessage {
     return paramFormats;
   }
 
+  /**
+   * Set the parameter types described by the backend, values matching their type are sent in binary format.
+   */
+  public Bind setParamTypes(DataType[] paramTypes) {
+    this.paramTypes = paramTypes;
+    return this;
+  }
+
+  public DataType[] getParamTypes() {
+    return paramTypes;
+  }
+
+  public Bind setResultFormats(DataFormat[] resultFormats) {
+    this.resultFormats = resultFormats;
+    return this;
+  }
+
+  public DataFormat[] getResultFormats() {
+    return resultFormats;
+  }
+
   public Bind setStatement(String statement) {
     this.statement = statement;
     return this;
@@ -93,15 +118,24 @@ public class Bind implements OutboundMessage {
     return Objects.equals(statement, bind.statement) &&
       Objects.equals(portal, bind.portal) &&
       Objects.equals(paramValues, bind.paramValues) &&
-      Arrays.equals(paramFormats, bind.paramFormats);
+      Arrays.equals(paramFormats, bind.paramFormats) &&
+      Arrays.equals(paramTypes, bind.paramTypes) &&
+      Arrays.equals(resultFormats, bind.resultFormats);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(statement, portal, paramValues, paramFormats);
+    return Objects.hash(statement, portal, paramValues, paramFormats, paramTypes, resultFormats);
+  }
+
+  private static boolean isBinary(DataType[] paramTypes, int index, Object value) {
+    return paramTypes != null && value != null && index < paramTypes.length && paramTypes[index].canEncodeBinary(value);
   }
 
-  private static void encode(String portal, String statement, List<Object> paramValues, ByteBuf out) {
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(String portal, String statement, List<Object> paramValues, DataType[] paramTypes, DataFormat[] resultFormats, ByteBuf out) {
     int pos = out.writerIndex();
     out.writeByte(BIND);
     out.writeInt(0);
@@ -121,33 +155,51 @@ public class Bind implements OutboundMessage {
       // No parameter values
       out.writeShort(0);
     } else {
-      byte[][] foobar = Util.paramValues(paramValues);
-      // Parameter formats
-      out.writeShort(foobar.length);
-      for (int c = 0; c < foobar.length; ++c) {
-        // for now each format is TEXT
+      int len = paramValues.size();
+      if (paramTypes == null) {
+        // Parameters are all in TEXT format
         out.writeShort(0);
+      } else {
+        // Parameter formats
+        out.writeShort(len);
+        for (int c = 0; c < len; ++c) {
+          out.writeShort(isBinary(paramTypes, c, paramValues.get(c)) ? DataFormat.BINARY.id : DataFormat.TEXT.id);
+        }
       }
-      out.writeShort(foobar.length);
-      for (int c = 0; c < foobar.length; ++c) {
-        if (foobar[c] == null) {
+      out.writeShort(len);
+      for (int c = 0; c < len; ++c) {
+        Object value = paramValues.get(c);
+        if (value == null) {
           // NULL value
           out.writeInt(-1);
         } else {
-          // Not NULL value
-          out.writeInt(foobar[c].length);
-          out.writeBytes(foobar[c]);
+          // Not NULL value, the length is written after the value
+          int idx = out.writerIndex();
+          out.writeInt(0);
+          if (isBinary(paramTypes, c, value)) {
+            paramTypes[c].encodeBinary(value, out);
+          } else {
+            Util.writeParamValue(value, out);
+          }
+          out.setInt(idx, out.writerIndex() - idx - 4);
         }
       }
     }
-    // Result columns are all in TEXT format
-    out.writeShort(0);
+    if (resultFormats == null) {
+      // Result columns are all in TEXT format
+      out.writeShort(0);
+    } else {
+      out.writeShort(resultFormats.length);
+      for (DataFormat resultFormat : resultFormats) {
+        out.writeShort(resultFormat.id);
+      }
+    }
     out.setInt(pos + 1, out.writerIndex() - pos - 1);
   }
 
   @Override
   public void encode(ByteBuf out) {
-    encode(portal, statement, paramValues, out);
+    encode(portal, statement, paramValues, paramTypes, resultFormats, out);
   }
 
   @Override
@@ -157,6 +209,8 @@ public class Bind implements OutboundMessage {
       ", portal='" + portal + '\'' +
       ", paramValues=" + paramValues +
       ", paramFormats=" + Arrays.toString(paramFormats) +
+      ", paramTypes=" + Arrays.toString(paramTypes) +
+      ", resultFormats=" + Arrays.toString(resultFormats) +
       '}';
   }
 }
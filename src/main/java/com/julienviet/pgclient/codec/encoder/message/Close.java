@@ -73,16 +73,29 @@ public class Close implements OutboundMessage {
       Objects.equals(portal, close.portal);
   }
 
-  @Override
-  public void encode(ByteBuf out) {
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(String statement, String portal, ByteBuf out) {
     int pos = out.writerIndex();
     out.writeByte(CLOSE);
     out.writeInt(0);
-    out.writeByte('S'); // 'S' to close a prepared statement or 'P' to close a portal
-    Util.writeCStringUTF8(out, statement != null ? statement : "");
+    if (portal != null) {
+      // 'S' to close a prepared statement or 'P' to close a portal
+      out.writeByte('P');
+      Util.writeCStringUTF8(out, portal);
+    } else {
+      out.writeByte('S');
+      Util.writeCStringUTF8(out, statement != null ? statement : "");
+    }
     out.setInt(pos + 1, out.writerIndex() - pos - 1);
   }
 
+  @Override
+  public void encode(ByteBuf out) {
+    encode(statement, portal, out);
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(statement, portal);
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.codec.encoder.message;
+
+import com.julienviet.pgclient.codec.encoder.OutboundMessage;
+import io.netty.buffer.ByteBuf;
+
+import static com.julienviet.pgclient.codec.encoder.message.type.MessageType.COPY_DATA;
+
+/**
+ * <p>
+ * Data sent to the backend during a {@code COPY FROM STDIN}, the message boundaries are not required to have
+ * anything to do with the row boundaries.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+
+public class CopyData implements OutboundMessage {
+
+  private final ByteBuf data;
+
+  public CopyData(ByteBuf data) {
+    this.data = data;
+  }
+
+  public ByteBuf getData() {
+    return data;
+  }
+
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(ByteBuf data, ByteBuf out) {
+    int len = data.readableBytes();
+    out.writeByte(COPY_DATA);
+    out.writeInt(4 + len);
+    out.writeBytes(data, data.readerIndex(), len);
+  }
+
+  /**
+   * Start a message whose data is then written directly to the buffer, {@link #setLength(ByteBuf, int)} must be
+   * called once the data is written.
+   *
+   * @return the index of the message in the buffer
+   */
+  public static int encodeHeader(ByteBuf out) {
+    int idx = out.writerIndex();
+    out.writeByte(COPY_DATA);
+    out.writeInt(0);
+    return idx;
+  }
+
+  public static void setLength(ByteBuf out, int idx) {
+    out.setInt(idx + 1, out.writerIndex() - idx - 1);
+  }
+
+  @Override
+  public void encode(ByteBuf out) {
+    encode(data, out);
+  }
+
+  @Override
+  public String toString() {
+    return "CopyData{" +
+      "length=" + data.readableBytes() +
+      '}';
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.codec.encoder.message;
+
+import com.julienviet.pgclient.codec.encoder.OutboundMessage;
+import io.netty.buffer.ByteBuf;
+
+import static com.julienviet.pgclient.codec.encoder.message.type.MessageType.COPY_DONE;
+
+/**
+ * <p>
+ * The frontend has no more data to send during a {@code COPY FROM STDIN}, the backend then completes the command.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+
+public class CopyDone implements OutboundMessage {
+
+  public static final CopyDone INSTANCE = new CopyDone();
+
+  private CopyDone() {}
+
+  @Override
+  public void encode(ByteBuf out) {
+    out.writeByte(COPY_DONE);
+    out.writeInt(4);
+  }
+
+  @Override
+  public String toString() {
+    return "CopyDone{}";
+  }
+}
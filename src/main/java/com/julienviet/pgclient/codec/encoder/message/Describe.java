@@ -20,6 +20,7 @@ package com.julienviet.pgclient.codec.encoder.message;
 import com.julienviet.pgclient.codec.decoder.message.ErrorResponse;
 import com.julienviet.pgclient.codec.decoder.message.NoData;
 import com.julienviet.pgclient.codec.decoder.message.ParameterDescription;
+import com.julienviet.pgclient.codec.decoder.message.RowDescription;
 import com.julienviet.pgclient.codec.encoder.OutboundMessage;
 import com.julienviet.pgclient.codec.util.Util;
 import io.netty.buffer.ByteBuf;
@@ -86,7 +87,10 @@ public class Describe implements OutboundMessage {
       Objects.equals(portal, describe.portal);
   }
 
-  private static void encode(String statement, String portal, ByteBuf out) {
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(String statement, String portal, ByteBuf out) {
     int pos = out.writerIndex();
     out.writeByte(DESCRIBE);
     out.writeInt(0);
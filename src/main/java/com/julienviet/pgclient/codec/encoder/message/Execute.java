@@ -87,7 +87,10 @@ public class Execute implements OutboundMessage {
       Objects.equals(portal, execute.portal);
   }
 
-  private static void encode(String portal, int rowCount, ByteBuf out) {
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(String portal, int rowCount, ByteBuf out) {
     int pos = out.writerIndex();
     out.writeByte(EXECUTE);
     out.writeInt(0);
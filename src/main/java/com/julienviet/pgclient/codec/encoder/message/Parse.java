@@ -81,7 +81,10 @@ public class Parse implements OutboundMessage {
       Arrays.equals(paramDataTypes, parse.paramDataTypes);
   }
 
-  private static void encode(String statement, String query, int[] paramDataTypes, ByteBuf out) {
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(String statement, String query, int[] paramDataTypes, ByteBuf out) {
     int pos = out.writerIndex();
     out.writeByte(PARSE);
     out.writeInt(0);
@@ -61,15 +61,22 @@ public class Query implements OutboundMessage {
     return Objects.equals(sql, that.sql);
   }
 
-  @Override
-  public void encode(ByteBuf out) {
+  /**
+   * Encode the message directly to the buffer without allocating it.
+   */
+  public static void encode(String sql, ByteBuf out) {
     int pos = out.writerIndex();
     out.writeByte(QUERY);
     out.writeInt(0);
-    Util.writeCStringUTF8(out, getQuery());
+    Util.writeCStringUTF8(out, sql);
     out.setInt(pos + 1, out.writerIndex() - pos - 1);
   }
 
+  @Override
+  public void encode(ByteBuf out) {
+    encode(sql, out);
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(sql);
@@ -36,4 +36,6 @@ public class MessageType {
   public static final byte EXECUTE = 'E';
   public static final byte CLOSE = 'C';
   public static final byte SYNC = 'S';
+  public static final byte COPY_DATA = 'd';
+  public static final byte COPY_DONE = 'c';
 }
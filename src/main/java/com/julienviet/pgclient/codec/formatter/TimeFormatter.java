@@ -20,6 +20,7 @@ package com.julienviet.pgclient.codec.formatter;
 import java.time.format.DateTimeFormatterBuilder;
 
 import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
+import static java.time.temporal.ChronoField.*;
 
 /**
  * @author <a href="mailto:emad.albloushi@gmail.com">Emad Alblueshi</a>
@@ -27,6 +28,18 @@ import static java.time.format.DateTimeFormatter.ISO_LOCAL_TIME;
 
 public class TimeFormatter {
 
+  /**
+   * Formats a time the way the backend prints it, i.e with the trailing zeros of the fraction removed.
+   */
+  public static final java.time.format.DateTimeFormatter TIME_FORMAT = new DateTimeFormatterBuilder()
+    .appendValue(HOUR_OF_DAY, 2)
+    .appendLiteral(':')
+    .appendValue(MINUTE_OF_HOUR, 2)
+    .appendLiteral(':')
+    .appendValue(SECOND_OF_MINUTE, 2)
+    .appendFraction(NANO_OF_SECOND, 0, 6, true)
+    .toFormatter();
+
   public static final java.time.format.DateTimeFormatter TIMETZ_FORMAT = new DateTimeFormatterBuilder()
     .parseCaseInsensitive()
     .append(ISO_LOCAL_TIME)
@@ -30,16 +30,15 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
-import java.util.List;
 import java.util.UUID;
 
 import static java.nio.charset.StandardCharsets.*;
-import static javax.xml.bind.DatatypeConverter.*;
 
 
 public class Util {
 
   private static final byte ZERO = 0;
+  private static final byte[] HEX = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
 
   public static String readCString(ByteBuf src, Charset charset) {
     int len = src.bytesBefore(ZERO);
@@ -76,44 +75,83 @@ public class Util {
     dst.writeByte(0);
   }
 
-  public static byte[][] paramValues(List<Object> parameters) {
-    if(parameters.size() > 100)
-      throw new IllegalStateException("params size must be <= 100");
-    byte[][] params = new byte[parameters.size()][];
-    for (int c = 0; c < parameters.size(); ++c) {
-      Object param = parameters.get(c);
-      if(param == null) {
-        params[c] = null;
-      } else if (param.getClass() == Boolean.class) {
-        params[c] = (boolean) param ? new byte[]{'t'} : new byte[]{'f'};
-      } else if (param.getClass() == byte[].class) {
-        params[c] = ("\\x" + printHexBinary((byte[])param)).getBytes(UTF_8);
-      } else if (
-        param.getClass() == Character.class ||
-        param.getClass() == String.class ||
-        param.getClass() == Short.class ||
-        param.getClass() == Integer.class ||
-        param.getClass() == Long.class ||
-        param.getClass() == BigInteger.class ||
-        param.getClass() == Float.class ||
-        param.getClass() == Double.class ||
-        param.getClass() == BigDecimal.class ||
-        param.getClass() == LocalDate.class ||
-        param.getClass() == LocalTime.class ||
-        param.getClass() == OffsetTime.class ||
-        param.getClass() == LocalDateTime.class ||
-        param.getClass() == OffsetDateTime.class ||
-        param.getClass() == Instant.class ||
-        param.getClass() == JsonObject.class ||
-        param.getClass() == JsonArray.class ||
-        param.getClass() == UUID.class
-        ) {
-        params[c] =  parameters.get(c).toString().getBytes(UTF_8);
+  /**
+   * Write the text format of a non null parameter value.
+   *
+   * @param param the parameter value
+   * @param dst the buffer to write to
+   */
+  public static void writeParamValue(Object param, ByteBuf dst) {
+    if (param.getClass() == Boolean.class) {
+      dst.writeByte((boolean) param ? 't' : 'f');
+    } else if (param.getClass() == byte[].class) {
+      byte[] bytes = (byte[]) param;
+      dst.writeByte('\\');
+      dst.writeByte('x');
+      for (byte b : bytes) {
+        dst.writeByte(HEX[(b >> 4) & 0xF]);
+        dst.writeByte(HEX[b & 0xF]);
+      }
+    } else if (
+      param.getClass() == Character.class ||
+      param.getClass() == String.class ||
+      param.getClass() == Short.class ||
+      param.getClass() == Integer.class ||
+      param.getClass() == Long.class ||
+      param.getClass() == BigInteger.class ||
+      param.getClass() == Float.class ||
+      param.getClass() == Double.class ||
+      param.getClass() == BigDecimal.class ||
+      param.getClass() == LocalDate.class ||
+      param.getClass() == LocalTime.class ||
+      param.getClass() == OffsetTime.class ||
+      param.getClass() == LocalDateTime.class ||
+      param.getClass() == OffsetDateTime.class ||
+      param.getClass() == Instant.class ||
+      param.getClass() == JsonObject.class ||
+      param.getClass() == JsonArray.class ||
+      param.getClass() == UUID.class
+      ) {
+      dst.writeCharSequence(param.toString(), UTF_8);
+    } else if (param instanceof Object[]) {
+      writeArrayValue((Object[]) param, dst);
+    } else {
+      throw new UnsupportedOperationException(param.getClass() + " is not supported");
+    }
+  }
+
+  /**
+   * Write the text format of a one dimension array, each non null element is quoted.
+   */
+  private static void writeArrayValue(Object[] array, ByteBuf dst) {
+    dst.writeByte('{');
+    for (int i = 0;i < array.length;i++) {
+      if (i > 0) {
+        dst.writeByte(',');
+      }
+      Object element = array[i];
+      if (element == null) {
+        dst.writeCharSequence("NULL", UTF_8);
+      } else if (element instanceof Object[]) {
+        throw new UnsupportedOperationException("Multi dimension arrays are not supported");
       } else {
-        throw new UnsupportedOperationException(param.getClass() + " is not supported");
+        int idx = dst.writerIndex();
+        writeParamValue(element, dst);
+        int len = dst.writerIndex() - idx;
+        byte[] value = new byte[len];
+        dst.getBytes(idx, value);
+        dst.writerIndex(idx);
+        dst.writeByte('"');
+        for (byte b : value) {
+          if (b == '"' || b == '\\') {
+            dst.writeByte('\\');
+          }
+          dst.writeByte(b);
+        }
+        dst.writeByte('"');
       }
     }
-    return params;
+    dst.writeByte('}');
   }
 
 }
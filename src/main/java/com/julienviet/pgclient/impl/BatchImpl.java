@@ -20,9 +20,11 @@ package com.julienviet.pgclient.impl;
 import com.julienviet.pgclient.PgBatch;
 import com.julienviet.pgclient.UpdateResult;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -32,6 +34,8 @@ public class BatchImpl implements PgBatch {
 
   private final PgPreparedStatementImpl ps;
   private final ArrayList<List<Object>> values = new ArrayList<>();
+  private int chunkSize;
+  private boolean arrayParameters;
 
   BatchImpl(PgPreparedStatementImpl ps) {
     this.ps = ps;
@@ -43,8 +47,110 @@ public class BatchImpl implements PgBatch {
     return this;
   }
 
+  @Override
+  public PgBatch rewriteInserts(int chunkSize) {
+    if (chunkSize < 0) {
+      throw new IllegalArgumentException("Chunk size must be >= 0");
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  @Override
+  public PgBatch arrayParameters(boolean enabled) {
+    this.arrayParameters = enabled;
+    return this;
+  }
+
   @Override
   public void execute(Handler<AsyncResult<List<UpdateResult>>> resultHandler) {
-    ps.update(values, resultHandler);
+    if (arrayParameters && values.size() > 0) {
+      executeArrays(resultHandler);
+      return;
+    }
+    InsertRewriter rewriter = chunkSize > 1 && values.size() > 1 ? InsertRewriter.parse(ps.sql) : null;
+    if (rewriter == null || !checkParams(rewriter.paramCount())) {
+      ps.update(values, resultHandler);
+      return;
+    }
+    int rows = Math.min(chunkSize, rewriter.maxRows());
+    int chunks = values.size() / rows;
+    int remaining = values.size() % rows;
+    List<List<Object>> paramsList = new ArrayList<>(chunks);
+    for (int i = 0;i < chunks;i++) {
+      paramsList.add(chunkParams(i * rows, rows));
+    }
+    Handler<AsyncResult<List<UpdateResult>>> handler = ar -> {
+      if (ar.succeeded()) {
+        List<UpdateResult> chunkResults = ar.result();
+        List<UpdateResult> results = new ArrayList<>(values.size());
+        addResults(chunkResults.subList(0, chunks), rows, results);
+        addResults(chunkResults.subList(chunks, chunkResults.size()), remaining, results);
+        resultHandler.handle(Future.succeededFuture(results));
+      } else {
+        resultHandler.handle(Future.failedFuture(ar.cause()));
+      }
+    };
+    if (remaining == 0) {
+      ps.update(rewriter.rewrite(rows), paramsList, handler);
+    } else if (chunks == 0) {
+      ps.update(rewriter.rewrite(remaining), Collections.singletonList(chunkParams(0, remaining)), handler);
+    } else {
+      // The tail is sent with the full chunks under a single sync, so the batch stays atomic
+      ps.update(rewriter.rewrite(rows), paramsList, rewriter.rewrite(remaining), chunkParams(chunks * rows, remaining), handler);
+    }
+  }
+
+  private void executeArrays(Handler<AsyncResult<List<UpdateResult>>> resultHandler) {
+    int rows = values.size();
+    int columns = values.get(0).size();
+    if (!checkParams(columns)) {
+      resultHandler.handle(Future.failedFuture("The rows of the batch must have the same number of parameters"));
+      return;
+    }
+    List<Object> arrays = new ArrayList<>(columns);
+    for (int column = 0;column < columns;column++) {
+      Object[] array = new Object[rows];
+      for (int row = 0;row < rows;row++) {
+        array[row] = values.get(row).get(column);
+      }
+      arrays.add(array);
+    }
+    ps.update(Collections.singletonList(arrays), ar -> {
+      if (ar.succeeded()) {
+        List<UpdateResult> results = new ArrayList<>(rows);
+        addResults(ar.result(), rows, results);
+        resultHandler.handle(Future.succeededFuture(results));
+      } else {
+        resultHandler.handle(Future.failedFuture(ar.cause()));
+      }
+    });
+  }
+
+  private boolean checkParams(int paramCount) {
+    for (List<Object> params : values) {
+      if (params.size() != paramCount) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private List<Object> chunkParams(int from, int rows) {
+    List<Object> params = new ArrayList<>(rows * values.get(from).size());
+    for (int i = from;i < from + rows;i++) {
+      params.addAll(values.get(i));
+    }
+    return params;
+  }
+
+  private static void addResults(List<UpdateResult> chunkResults, int rows, List<UpdateResult> results) {
+    for (UpdateResult chunkResult : chunkResults) {
+      // A chunk updating fewer rows than its size is reported over its first rows
+      int updated = chunkResult.getUpdated();
+      for (int i = 0;i < rows;i++) {
+        results.add(new UpdateResult(i < updated ? 1 : 0, null));
+      }
+    }
   }
 }
@@ -21,6 +21,7 @@ import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.message.CloseComplete;
 import com.julienviet.pgclient.codec.encoder.message.Close;
 import com.julienviet.pgclient.codec.encoder.message.Sync;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -32,6 +33,7 @@ class ClosePortalCommand extends CommandBase {
 
   final String portal;
   final Handler<AsyncResult<Void>> handler;
+  private SocketConnection conn;
 
   public ClosePortalCommand(String portal, Handler<AsyncResult<Void>> handler) {
     this.portal = portal;
@@ -40,13 +42,16 @@ class ClosePortalCommand extends CommandBase {
 
   @Override
   void exec(SocketConnection conn) {
-    conn.writeMessage(new Close().setPortal(portal));
-    conn.writeMessage(Sync.INSTANCE);
+    this.conn = conn;
+    ByteBuf out = conn.out();
+    Close.encode(null, portal, out);
+    Sync.INSTANCE.encode(out);
   }
 
   @Override
   public void handleMessage(InboundMessage msg) {
     if (msg.getClass() == CloseComplete.class) {
+      conn.releasePortal(portal);
       handler.handle(Future.succeededFuture());
     } else {
       super.handleMessage(msg);
@@ -21,6 +21,7 @@ import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.message.CloseComplete;
 import com.julienviet.pgclient.codec.encoder.message.Close;
 import com.julienviet.pgclient.codec.encoder.message.Sync;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -41,8 +42,9 @@ class CloseStatementCommand extends CommandBase {
   @Override
   void exec(SocketConnection conn) {
     if (conn.psCache == null) {
-      conn.writeMessage(new Close().setStatement(stmt));
-      conn.writeMessage(Sync.INSTANCE);
+      ByteBuf out = conn.out();
+      Close.encode(stmt, null, out);
+      Sync.INSTANCE.encode(out);
     } else {
       completionHandler.handle(null);
     }
@@ -18,7 +18,11 @@
 package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
+import com.julienviet.pgclient.codec.decoder.message.CopyData;
+import com.julienviet.pgclient.codec.decoder.message.DataRow;
 import com.julienviet.pgclient.codec.decoder.message.ReadyForQuery;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
 /**
@@ -29,16 +33,61 @@ public abstract class CommandBase {
 
   protected Handler<Void> completionHandler;
 
+  /**
+   * The time in milliseconds after which the execution of the command is cancelled, {@code 0} uses the query
+   * timeout of the client for the queries and updates.
+   */
+  long timeout;
+  volatile SocketConnection connection;
+  volatile boolean cancelled;
+  /**
+   * Set when the command pauses the socket, see {@link SocketConnection#pause(CommandBase)}.
+   */
+  boolean socketPaused;
+  /**
+   * Set when the command is failed before its completion, the remaining messages of its response are discarded.
+   */
+  boolean discarded;
+  long timerID = -1;
+
   public void handleMessage(InboundMessage msg) {
     if (msg.getClass() == ReadyForQuery.class) {
       completionHandler.handle(null);
+    } else if (msg.getClass() == DataRow.class) {
+      // Rows not consumed by the command
+      ((DataRow) msg).getBuffer().release();
+    } else if (msg.getClass() == CopyData.class) {
+      ((CopyData) msg).getBuffer().release();
     } else {
       System.out.println(getClass().getSimpleName() + " should handle message " + msg);
     }
   }
 
+  void discard(InboundMessage msg) {
+    if (msg.getClass() == ReadyForQuery.class) {
+      completionHandler.handle(null);
+    } else if (msg.getClass() == DataRow.class) {
+      ((DataRow) msg).getBuffer().release();
+    } else if (msg.getClass() == CopyData.class) {
+      ((CopyData) msg).getBuffer().release();
+    }
+  }
+
   abstract void exec(SocketConnection conn);
 
   abstract void fail(Throwable err);
 
+  /**
+   * Cancel the command, a command not yet scheduled on a connection is failed when it is scheduled.
+   */
+  void cancel(Handler<AsyncResult<Void>> handler) {
+    cancelled = true;
+    SocketConnection conn = connection;
+    if (conn != null) {
+      conn.cancel(this, handler);
+    } else {
+      handler.handle(Future.succeededFuture());
+    }
+  }
+
 }
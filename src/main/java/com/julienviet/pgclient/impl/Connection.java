@@ -17,6 +17,7 @@
 
 package com.julienviet.pgclient.impl;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
 public interface Connection {
@@ -25,6 +26,32 @@ public interface Connection {
 
   boolean isSsl();
 
+  /**
+   * @return the number of commands executing or waiting to be executed on this connection
+   */
+  int queueDepth();
+
+  /**
+   * @return the number of prepared statements found in the cache of this connection
+   */
+  default long preparedStatementCacheHits() {
+    return 0;
+  }
+
+  /**
+   * @return the number of prepared statements not found in the cache of this connection
+   */
+  default long preparedStatementCacheMisses() {
+    return 0;
+  }
+
+  /**
+   * @return the number of prepared statements evicted from the cache of this connection
+   */
+  default long preparedStatementCacheEvictions() {
+    return 0;
+  }
+
   default void schedule(CommandBase cmd) {
     schedule(cmd, null);
   }
@@ -33,6 +60,12 @@ public interface Connection {
 
   void close(Holder holder);
 
+  /**
+   * Send a cancel request for the command executing on this connection, the request is sent on a separate
+   * connection.
+   */
+  void cancelRequest(Handler<AsyncResult<Void>> handler);
+
   interface Holder {
 
     Connection connection();
@@ -41,5 +74,11 @@ public interface Connection {
 
     void handleException(Throwable err);
 
+    /**
+     * Called when the connection receives a notification of a channel it listens to.
+     */
+    default void handleNotification(int processId, String channel, String payload) {
+    }
+
   }
 }
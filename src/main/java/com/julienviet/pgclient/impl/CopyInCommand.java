@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.PgException;
+import com.julienviet.pgclient.codec.decoder.InboundMessage;
+import com.julienviet.pgclient.codec.decoder.message.CommandComplete;
+import com.julienviet.pgclient.codec.decoder.message.CopyInResponse;
+import com.julienviet.pgclient.codec.decoder.message.ErrorResponse;
+import com.julienviet.pgclient.codec.encoder.message.CopyData;
+import com.julienviet.pgclient.codec.encoder.message.CopyDone;
+import com.julienviet.pgclient.codec.encoder.message.Query;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * Execute a {@code COPY FROM STDIN} command, the data is sent to the backend as soon as the command is executed
+ * and the connection does not execute other commands until the copy is done.
+ * <p>
+ * The data is collected in a buffer allocated by the connection channel and sent as a single {@code CopyData}
+ * message when it reaches {@link #FLUSH_SIZE} or the write queue max size, at the end of the event loop tick and
+ * when the copy ends.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class CopyInCommand extends CommandBase {
+
+  static final int FLUSH_SIZE = 64 * 1024;
+
+  private final String sql;
+  private final Handler<AsyncResult<Integer>> handler;
+  private ByteBuf buffer;
+  private SocketConnection conn;
+  private int maxQueueSize;
+  private Handler<Void> drainHandler;
+  private boolean flushScheduled;
+  private boolean ended;
+  private boolean done;
+
+  CopyInCommand(String sql, int maxQueueSize, Handler<AsyncResult<Integer>> handler) {
+    this.sql = sql;
+    this.maxQueueSize = maxQueueSize;
+    this.handler = handler;
+  }
+
+  @Override
+  void exec(SocketConnection conn) {
+    boolean full = writeQueueFull();
+    this.conn = conn;
+    ByteBuf out = conn.out();
+    Query.encode(sql, out);
+    // The backend drops the data if the command fails before the copy begins
+    if (buffer != null) {
+      CopyData.setLength(buffer, 0);
+      out.writeBytes(buffer);
+      buffer.release();
+      buffer = null;
+    }
+    if (ended) {
+      CopyDone.INSTANCE.encode(out);
+      done = true;
+    } else {
+      conn.holdPipeline();
+      conn.drainHandler(drainHandler);
+      if (full && drainHandler != null) {
+        drainHandler.handle(null);
+      }
+    }
+  }
+
+  /**
+   * @return the buffer to write the data to, {@link #written()} must be called once the data is written
+   */
+  ByteBuf buffer() {
+    if (buffer == null) {
+      // The data written before the command is executed is copied to the connection buffer
+      buffer = conn != null ? conn.alloc().ioBuffer() : Unpooled.buffer();
+      CopyData.encodeHeader(buffer);
+    }
+    return buffer;
+  }
+
+  void written() {
+    if (done) {
+      buffer.release();
+      buffer = null;
+    } else if (conn != null) {
+      if (buffer.readableBytes() >= Math.min(FLUSH_SIZE, maxQueueSize)) {
+        flush();
+      } else if (!flushScheduled) {
+        flushScheduled = true;
+        conn.context.runOnContext(v -> {
+          flushScheduled = false;
+          flush();
+        });
+      }
+    }
+  }
+
+  void write(ByteBuf data) {
+    buffer().writeBytes(data);
+    written();
+  }
+
+  private void flush() {
+    if (buffer != null) {
+      ByteBuf buf = buffer;
+      buffer = null;
+      if (done) {
+        buf.release();
+      } else {
+        CopyData.setLength(buf, 0);
+        conn.write(buf);
+      }
+    }
+  }
+
+  void end() {
+    if (!ended) {
+      ended = true;
+      if (conn != null && !done) {
+        flush();
+        conn.writeMessage(CopyDone.INSTANCE);
+        done();
+      }
+    }
+  }
+
+  private void done() {
+    done = true;
+    conn.drainHandler(null);
+    conn.releasePipeline();
+  }
+
+  boolean writeQueueFull() {
+    if (conn == null) {
+      return buffer != null && buffer.readableBytes() >= maxQueueSize;
+    } else {
+      return conn.writeQueueFull();
+    }
+  }
+
+  void setWriteQueueMaxSize(int maxSize) {
+    maxQueueSize = maxSize;
+  }
+
+  void drainHandler(Handler<Void> handler) {
+    drainHandler = handler;
+    if (conn != null && !done) {
+      conn.drainHandler(handler);
+    }
+  }
+
+  @Override
+  public void handleMessage(InboundMessage msg) {
+    if (msg.getClass() == CopyInResponse.class) {
+    } else if (msg.getClass() == CommandComplete.class) {
+      CommandComplete complete = (CommandComplete) msg;
+      handler.handle(Future.succeededFuture(complete.getRowsAffected()));
+    } else if (msg.getClass() == ErrorResponse.class) {
+      ErrorResponse error = (ErrorResponse) msg;
+      if (!done) {
+        // The backend drops the data sent after the error, the next commands can be executed
+        done();
+      }
+      fail(new PgException(error));
+    } else {
+      super.handleMessage(msg);
+    }
+  }
+
+  @Override
+  void fail(Throwable err) {
+    done = true;
+    if (buffer != null) {
+      buffer.release();
+      buffer = null;
+    }
+    handler.handle(Future.failedFuture(err));
+  }
+}
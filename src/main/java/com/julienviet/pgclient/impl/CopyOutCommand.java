@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.PgException;
+import com.julienviet.pgclient.codec.decoder.InboundMessage;
+import com.julienviet.pgclient.codec.decoder.message.CommandComplete;
+import com.julienviet.pgclient.codec.decoder.message.CopyData;
+import com.julienviet.pgclient.codec.decoder.message.CopyDone;
+import com.julienviet.pgclient.codec.decoder.message.CopyOutResponse;
+import com.julienviet.pgclient.codec.decoder.message.ErrorResponse;
+import com.julienviet.pgclient.codec.decoder.message.ReadyForQuery;
+import com.julienviet.pgclient.codec.encoder.message.Query;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.ArrayDeque;
+
+/**
+ * Execute a {@code COPY TO STDOUT} command and relay the copied data.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class CopyOutCommand extends CommandBase {
+
+  private final String sql;
+  private final PgCopyOutImpl stream;
+  private final ArrayDeque<Buffer> pending = new ArrayDeque<>();
+  private SocketConnection conn;
+  private boolean paused;
+  private boolean ended;
+
+  CopyOutCommand(String sql, PgCopyOutImpl stream) {
+    this.sql = sql;
+    this.stream = stream;
+  }
+
+  @Override
+  void exec(SocketConnection conn) {
+    this.conn = conn;
+    if (paused) {
+      conn.pause(this);
+    }
+    Query.encode(sql, conn.out());
+  }
+
+  void pause() {
+    if (!paused && !ended) {
+      paused = true;
+      if (conn != null) {
+        conn.pause(this);
+      }
+    }
+  }
+
+  void resume() {
+    if (paused) {
+      paused = false;
+      // The data received before the pause is delivered first
+      Buffer data;
+      while (!paused && (data = pending.poll()) != null) {
+        stream.handleData(data);
+      }
+      if (!paused) {
+        if (ended) {
+          stream.handleEnd();
+        } else if (conn != null) {
+          conn.resume(this);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void handleMessage(InboundMessage msg) {
+    if (msg.getClass() == CopyData.class) {
+      ByteBuf buffer = ((CopyData) msg).getBuffer();
+      Buffer data;
+      try {
+        // The handler may keep the buffer, e.g when it is written to another stream, it can't be a slice
+        // of a pooled buffer that is released after the callback
+        data = Buffer.buffer(Unpooled.buffer(buffer.readableBytes()).writeBytes(buffer));
+      } finally {
+        buffer.release();
+      }
+      if (paused) {
+        pending.add(data);
+      } else {
+        stream.handleData(data);
+      }
+    } else if (msg.getClass() == ReadyForQuery.class) {
+      super.handleMessage(msg);
+      ended = true;
+      if (!paused) {
+        stream.handleEnd();
+      } else {
+        // Don't leave the socket paused for the next commands
+        conn.resume(this);
+      }
+    } else if (msg.getClass() == CopyOutResponse.class) {
+    } else if (msg.getClass() == CopyDone.class) {
+    } else if (msg.getClass() == CommandComplete.class) {
+    } else if (msg.getClass() == ErrorResponse.class) {
+      ErrorResponse error = (ErrorResponse) msg;
+      fail(new PgException(error));
+    } else {
+      super.handleMessage(msg);
+    }
+  }
+
+  @Override
+  void fail(Throwable err) {
+    pending.clear();
+    stream.handleException(err);
+  }
+}
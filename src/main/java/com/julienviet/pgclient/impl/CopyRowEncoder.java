@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.codec.DataType;
+import com.julienviet.pgclient.codec.util.Util;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encode rows in the formats of the {@code COPY} command.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class CopyRowEncoder {
+
+  private static final byte[] BINARY_SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+
+  // The binary format requires the value to be encoded in the binary format of the column
+  private static final Map<Class<?>, DataType> BINARY_TYPES = new HashMap<>();
+
+  static {
+    BINARY_TYPES.put(Boolean.class, DataType.BOOL);
+    BINARY_TYPES.put(Short.class, DataType.INT2);
+    BINARY_TYPES.put(Integer.class, DataType.INT4);
+    BINARY_TYPES.put(Long.class, DataType.INT8);
+    BINARY_TYPES.put(Float.class, DataType.FLOAT4);
+    BINARY_TYPES.put(Double.class, DataType.FLOAT8);
+    BINARY_TYPES.put(LocalDate.class, DataType.DATE);
+    BINARY_TYPES.put(LocalDateTime.class, DataType.TIMESTAMP);
+    BINARY_TYPES.put(Instant.class, DataType.TIMESTAMPTZ);
+    BINARY_TYPES.put(OffsetDateTime.class, DataType.TIMESTAMPTZ);
+    BINARY_TYPES.put(byte[].class, DataType.BYTEA);
+    BINARY_TYPES.put(UUID.class, DataType.UUID);
+  }
+
+  static void encodeText(List<Object> row, ByteBuf out) {
+    ByteBuf value = null;
+    for (int i = 0;i < row.size();i++) {
+      if (i > 0) {
+        out.writeByte('\t');
+      }
+      Object param = row.get(i);
+      if (param == null) {
+        out.writeByte('\\');
+        out.writeByte('N');
+      } else {
+        if (value == null) {
+          value = Unpooled.buffer();
+        } else {
+          value.clear();
+        }
+        Util.writeParamValue(param, value);
+        // The escaped characters are ASCII and never part of a multi byte UTF-8 sequence
+        while (value.isReadable()) {
+          byte b = value.readByte();
+          switch (b) {
+            case '\\':
+              out.writeByte('\\');
+              out.writeByte('\\');
+              break;
+            case '\n':
+              out.writeByte('\\');
+              out.writeByte('n');
+              break;
+            case '\r':
+              out.writeByte('\\');
+              out.writeByte('r');
+              break;
+            case '\t':
+              out.writeByte('\\');
+              out.writeByte('t');
+              break;
+            default:
+              out.writeByte(b);
+          }
+        }
+      }
+    }
+    out.writeByte('\n');
+  }
+
+  static void encodeCsv(List<Object> row, ByteBuf out) {
+    ByteBuf value = null;
+    for (int i = 0;i < row.size();i++) {
+      if (i > 0) {
+        out.writeByte(',');
+      }
+      Object param = row.get(i);
+      // An unquoted empty value is NULL, any other value is quoted so it can contain separators
+      if (param != null) {
+        if (value == null) {
+          value = Unpooled.buffer();
+        } else {
+          value.clear();
+        }
+        Util.writeParamValue(param, value);
+        out.writeByte('"');
+        while (value.isReadable()) {
+          byte b = value.readByte();
+          if (b == '"') {
+            out.writeByte('"');
+          }
+          out.writeByte(b);
+        }
+        out.writeByte('"');
+      }
+    }
+    out.writeByte('\n');
+  }
+
+  static void encodeBinaryHeader(ByteBuf out) {
+    out.writeBytes(BINARY_SIGNATURE);
+    // Flags
+    out.writeInt(0);
+    // No header extension
+    out.writeInt(0);
+  }
+
+  static void encodeBinary(List<Object> row, ByteBuf out) {
+    out.writeShort(row.size());
+    for (Object param : row) {
+      if (param == null) {
+        out.writeInt(-1);
+      } else {
+        int idx = out.writerIndex();
+        out.writeInt(0);
+        if (param.getClass() == String.class) {
+          // The binary format of the character types is the text
+          out.writeCharSequence((String) param, UTF_8);
+        } else {
+          DataType type = BINARY_TYPES.get(param.getClass());
+          if (type == null) {
+            throw new UnsupportedOperationException(param.getClass() + " is not supported");
+          }
+          type.encodeBinary(param, out);
+        }
+        out.setInt(idx, out.writerIndex() - idx - 4);
+      }
+    }
+  }
+
+  static void encodeBinaryTrailer(ByteBuf out) {
+    out.writeShort(-1);
+  }
+}
@@ -19,6 +19,7 @@ package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.PgQuery;
 import com.julienviet.pgclient.ResultSet;
+import com.julienviet.pgclient.Row;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -31,17 +32,25 @@ import java.util.UUID;
  */
 public class ExtendedPgQueryImpl implements PgQuery, QueryResultHandler {
 
+  private static final int INITIAL_ADAPTIVE_FETCH = 64;
+
   private final PgPreparedStatementImpl ps;
   private final List<Object> params;
   private int fetch;
+  private int adaptiveFetch;
+  private long timeout;
 
   private Handler<ResultSet> resultHandler;
+  private Handler<Row> rowHandler;
   private Handler<Throwable> exceptionHandler;
   private Handler<Void> endHandler;
 
   private String portal;
   private boolean completed;
   private boolean closed;
+  private boolean paused;
+  private boolean fetchPending;
+  private ExtendedQueryCommand cmd;
 
   ExtendedPgQueryImpl(PgPreparedStatementImpl ps, List<Object> params) {
     this.ps = ps;
@@ -57,10 +66,7 @@ public class ExtendedPgQueryImpl implements PgQuery, QueryResultHandler {
   public PgQuery handler(Handler<ResultSet> handler) {
     if (handler != null) {
       resultHandler = handler;
-      if (portal == null) {
-        portal = fetch > 0 ? UUID.randomUUID().toString() : "";
-        ps.execute(params, fetch, portal, false, this);
-      }
+      execute();
     } else {
       if (!completed) {
         throw new UnsupportedOperationException("Todo : unsubscribe");
@@ -69,13 +75,57 @@ public class ExtendedPgQueryImpl implements PgQuery, QueryResultHandler {
     return this;
   }
 
+  @Override
+  public PgQuery rowHandler(Handler<Row> handler) {
+    rowHandler = handler;
+    if (handler != null) {
+      execute();
+    }
+    return this;
+  }
+
+  @Override
+  public Handler<Row> rowHandler() {
+    return rowHandler;
+  }
+
+  private void execute() {
+    if (portal == null) {
+      if (adaptiveFetch > 0 && fetch == 0) {
+        fetch = INITIAL_ADAPTIVE_FETCH;
+      }
+      portal = fetch > 0 ? UUID.randomUUID().toString() : "";
+      cmd = ps.execute(params, fetch, timeout, portal, false, this);
+      if (paused && fetch == 0) {
+        cmd.pause();
+      }
+    }
+  }
+
   @Override
   public PgQuery pause() {
+    if (!paused) {
+      paused = true;
+      if (fetch == 0 && cmd != null) {
+        // Without a portal the rows can only be stopped by not reading the socket
+        cmd.pause();
+      }
+    }
     return this;
   }
 
   @Override
   public PgQuery resume() {
+    if (paused) {
+      paused = false;
+      if (cmd != null) {
+        cmd.resume();
+      }
+      if (fetchPending && !closed) {
+        fetchPending = false;
+        cmd = ps.execute(params, fetch, timeout, portal, true, this);
+      }
+    }
     return this;
   }
 
@@ -100,6 +150,47 @@ public class ExtendedPgQueryImpl implements PgQuery, QueryResultHandler {
     return this;
   }
 
+  @Override
+  public ExtendedPgQueryImpl timeout(long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("Timeout must be 0 (disabled) or a positive number");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  @Override
+  public void cancel(Handler<AsyncResult<Void>> handler) {
+    if (cmd != null) {
+      cmd.cancel(handler);
+    } else {
+      handler.handle(Future.succeededFuture());
+    }
+  }
+
+  @Override
+  public ExtendedPgQueryImpl adaptiveFetch(int bytes) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Adaptive fetch must be 0 (disabled) or a positive number");
+    }
+    this.adaptiveFetch = bytes;
+    return this;
+  }
+
+  /**
+   * Compute the fetch size of the next round trip from the rows received by the current one, the size
+   * is at most doubled or halved to smooth the variations of the row sizes.
+   */
+  private void adaptFetch() {
+    int rows = cmd.rowCount();
+    if (rows > 0) {
+      long rowSize = Math.max(1, cmd.rowBytes() / rows);
+      long size = adaptiveFetch / rowSize;
+      size = Math.max(fetch / 2, Math.min((long) fetch * 2, size));
+      fetch = (int) Math.max(1, Math.min(Integer.MAX_VALUE, size));
+    }
+  }
+
   @Override
   public void result(ResultSet result, boolean suspended) {
     if (closed) {
@@ -110,7 +201,15 @@ public class ExtendedPgQueryImpl implements PgQuery, QueryResultHandler {
       return;
     }
     if (suspended) {
-      ps.execute(params, fetch, portal, true, this);
+      if (adaptiveFetch > 0) {
+        adaptFetch();
+      }
+      if (paused) {
+        // Fetch the next rows when resumed
+        fetchPending = true;
+      } else {
+        cmd = ps.execute(params, fetch, timeout, portal, true, this);
+      }
     } else {
       if (!completed) {
         completed = true;
@@ -147,6 +246,9 @@ public class ExtendedPgQueryImpl implements PgQuery, QueryResultHandler {
       } else {
         if (!completed) {
           completed = true;
+          if (cmd != null) {
+            cmd.resume();
+          }
           callHandler(endHandler, null);
           ps.closePortal(portal, completionHandler);
         }
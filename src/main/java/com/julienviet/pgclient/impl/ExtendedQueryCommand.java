@@ -17,17 +17,22 @@
 
 package com.julienviet.pgclient.impl;
 
+import com.julienviet.pgclient.codec.DataFormat;
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.message.BindComplete;
+import com.julienviet.pgclient.codec.decoder.message.CloseComplete;
+import com.julienviet.pgclient.codec.decoder.message.CommandComplete;
 import com.julienviet.pgclient.codec.decoder.message.NoData;
 import com.julienviet.pgclient.codec.decoder.message.ParameterDescription;
 import com.julienviet.pgclient.codec.decoder.message.ParseComplete;
 import com.julienviet.pgclient.codec.decoder.message.PortalSuspended;
+import com.julienviet.pgclient.codec.decoder.message.RowDescription;
 import com.julienviet.pgclient.codec.encoder.message.Bind;
 import com.julienviet.pgclient.codec.encoder.message.Describe;
 import com.julienviet.pgclient.codec.encoder.message.Execute;
 import com.julienviet.pgclient.codec.encoder.message.Parse;
 import com.julienviet.pgclient.codec.encoder.message.Sync;
+import io.netty.buffer.ByteBuf;
 
 import java.util.List;
 import java.util.UUID;
@@ -42,21 +47,22 @@ class ExtendedQueryCommand extends QueryCommandBase {
   final String sql;
   final List<Object> params;
   final int fetch;
-  final String stmt;
+  final PreparedStatement stmt;
   private final String portal;
   private final boolean suspended;
+  private PreparedStatement current;
 
   ExtendedQueryCommand(String sql,
                        List<Object> params,
                        QueryResultHandler handler) {
-    this(true, sql, params, 0, "", "", false, handler);
+    this(true, sql, params, 0, new PreparedStatement(""), "", false, handler);
   }
 
   ExtendedQueryCommand(boolean parse,
                        String sql,
                        List<Object> params,
                        int fetch,
-                       String stmt,
+                       PreparedStatement stmt,
                        String portal,
                        boolean suspended,
                        QueryResultHandler handler) {
@@ -72,14 +78,20 @@ class ExtendedQueryCommand extends QueryCommandBase {
 
   @Override
   void exec(SocketConnection conn) {
+    super.exec(conn);
     boolean p;
-    String s;
+    boolean cache = false;
+    PreparedStatement s;
     if (conn.psCache != null) {
-      String cached = conn.psCache.get(sql);
-      if (cached == null) {
+      PreparedStatement cached = conn.psCache.get(sql);
+      if (suspended) {
+        // The portal is already bound, the lookup only keeps its statement recently used
+        p = false;
+        s = cached != null ? cached : stmt;
+      } else if (cached == null) {
         p = true;
-        s = UUID.randomUUID().toString();
-        conn.psCache.put(sql, s);
+        cache = true;
+        s = new PreparedStatement(UUID.randomUUID().toString());
       } else {
         p = false;
         s = cached;
@@ -88,32 +100,81 @@ class ExtendedQueryCommand extends QueryCommandBase {
       p = parse;
       s = stmt;
     }
+    current = s;
+    if (conn.psCache != null && portal.length() > 0) {
+      conn.bindPortal(portal, s);
+    }
 
+    ByteBuf out = conn.out();
     if (p) {
-      conn.writeMessage(new Parse(sql).setStatement(s));
+      Parse.encode(s.name, sql, null, out);
+      if (s.name.length() > 0) {
+        // Learn the parameter types of a statement that will be reused so we can bind them in binary format
+        Describe.encode(s.name, null, out);
+      }
     }
-    if (!suspended) {
-      conn.writeMessage(new Bind().setParamValues(params).setPortal(portal).setStatement(s));
-      conn.writeMessage(new Describe().setStatement(s));
+    if (suspended) {
+      // The portal might have been bound before the statement was described, only the server knows its formats
+      Describe.encode(null, portal, out);
     } else {
-      // Needed for now, later see how to remove it
-      conn.writeMessage(new Describe().setPortal(portal));
+      // Columns are requested in binary format once the statement has been described
+      DataFormat[] resultFormats = conn.binaryResultFormat ? s.resultFormats() : null;
+      Bind.encode(portal, s.name, params, s.paramTypes(), resultFormats, out);
+      if (s.described()) {
+        RowDescription rowDesc = s.rowDesc(resultFormats);
+        if (rowDesc != null) {
+          handleRowDescription(rowDesc.getColumns());
+        }
+      } else {
+        // Describe the portal and not the statement so the row description carries the actual result formats
+        Describe.encode(null, portal, out);
+      }
     }
-    conn.writeMessage(new Execute().setPortal(portal).setRowCount(fetch));
-    conn.writeMessage(Sync.INSTANCE);
+    Execute.encode(portal, fetch, out);
+    if (cache) {
+      // Cache the statement once the messages are encoded, the eviction closes a statement before the sync
+      conn.psCache.put(sql, s);
+    }
+    Sync.INSTANCE.encode(out);
   }
 
   @Override
   public void handleMessage(InboundMessage msg) {
-    if (msg.getClass() == PortalSuspended.class) {
-      PortalSuspended portalSuspended = (PortalSuspended) msg;
-      handler.result(portalSuspended.getResultSet(), true);
+    if (msg.getClass() == RowDescription.class) {
+      current.describe((RowDescription) msg);
+      super.handleMessage(msg);
     } else if (msg.getClass() == ParameterDescription.class) {
+      current.describeParams((ParameterDescription) msg);
     } else if (msg.getClass() == NoData.class) {
+      current.describe(null);
     } else if (msg.getClass() == ParseComplete.class) {
     } else if (msg.getClass() == BindComplete.class) {
+    } else if (msg.getClass() == CloseComplete.class) {
+      // Statement evicted from the cache
     } else {
+      if (msg.getClass() == CommandComplete.class && portal.length() > 0) {
+        connection.releasePortal(portal);
+      }
       super.handleMessage(msg);
     }
   }
+
+  @Override
+  void deliver(InboundMessage msg) {
+    if (msg.getClass() == PortalSuspended.class) {
+      handler.result(pollResultSet(), true);
+    } else {
+      super.deliver(msg);
+    }
+  }
+
+  @Override
+  void fail(Throwable cause) {
+    // The portal does not survive an error
+    SocketConnection conn = connection;
+    if (conn != null && portal.length() > 0) {
+      conn.releasePortal(portal);
+    }
+    super.fail(cause);
+  }
 }
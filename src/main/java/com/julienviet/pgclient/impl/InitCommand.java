@@ -95,6 +95,10 @@ class InitCommand extends CommandBase {
         CLIENT_ENCODING = paramStatus.getValue();
       }
     } else if (msg.getClass() == BackendKeyData.class) {
+      // Identifies the connection in cancel requests
+      BackendKeyData keyData = (BackendKeyData) msg;
+      conn.processId = keyData.getProcessId();
+      conn.secretKey = keyData.getSecretKey();
     }  else if (msg.getClass() == ErrorResponse.class) {
       ErrorResponse error = (ErrorResponse) msg;
       completionHandler.handle(null);
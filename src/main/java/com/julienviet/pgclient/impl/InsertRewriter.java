@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+/**
+ * Rewrite a single row {@code INSERT ... VALUES (...)} statement into a multi row {@code VALUES} statement, the
+ * parameters of the successive rows are numbered after the parameters of the previous rows.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class InsertRewriter {
+
+  /**
+   * The maximum number of parameters of a statement.
+   */
+  static final int MAX_PARAMS = 65535;
+
+  /**
+   * Parse an insert statement.
+   *
+   * @param sql the statement
+   * @return the rewriter or {@code null} when the statement cannot be rewritten
+   */
+  static InsertRewriter parse(String sql) {
+    if (!regionMatches(sql, skipBlanks(sql, 0), "INSERT")) {
+      return null;
+    }
+    int len = sql.length();
+    int i = 0;
+    int values = -1;
+    while (i < len) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else if (c == '$') {
+        // Parameters are only allowed in the values
+        return null;
+      } else if ((c == 'V' || c == 'v') && regionMatches(sql, i, "VALUES") && isBoundary(sql, i - 1) && isBoundary(sql, i + 6)) {
+        values = i + 6;
+        break;
+      } else {
+        i++;
+      }
+    }
+    if (values == -1) {
+      return null;
+    }
+    int open = skipBlanks(sql, values);
+    if (open >= len || sql.charAt(open) != '(') {
+      return null;
+    }
+    int depth = 0;
+    int params = 0;
+    i = open;
+    int close = -1;
+    while (i < len && close == -1) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else {
+        if (c == '(') {
+          depth++;
+        } else if (c == ')') {
+          if (--depth == 0) {
+            close = i;
+          }
+        } else if (c == '$') {
+          int from = i + 1;
+          int to = from;
+          while (to < len && Character.isDigit(sql.charAt(to))) {
+            to++;
+          }
+          if (to == from) {
+            return null;
+          }
+          params = Math.max(params, Integer.parseInt(sql.substring(from, to)));
+          i = to;
+          continue;
+        }
+        i++;
+      }
+    }
+    if (close == -1 || params == 0) {
+      return null;
+    }
+    // The remaining of the statement must not contain another row or parameters
+    i = close + 1;
+    int next = skipBlanks(sql, i);
+    if (next < len && sql.charAt(next) == ',') {
+      return null;
+    }
+    while (i < len) {
+      char c = sql.charAt(i);
+      if (c == '\'' || c == '"') {
+        i = skipQuoted(sql, i);
+      } else if (c == '$') {
+        return null;
+      } else {
+        i++;
+      }
+    }
+    return new InsertRewriter(sql.substring(0, open), sql.substring(open, close + 1), sql.substring(close + 1), params);
+  }
+
+  private static boolean regionMatches(String s, int from, String keyword) {
+    return s.regionMatches(true, from, keyword, 0, keyword.length());
+  }
+
+  private static boolean isBoundary(String s, int index) {
+    if (index < 0 || index >= s.length()) {
+      return true;
+    }
+    char c = s.charAt(index);
+    return !Character.isLetterOrDigit(c) && c != '_';
+  }
+
+  private static int skipBlanks(String s, int from) {
+    while (from < s.length() && Character.isWhitespace(s.charAt(from))) {
+      from++;
+    }
+    return from;
+  }
+
+  private static int skipQuoted(String s, int from) {
+    char quote = s.charAt(from);
+    int i = from + 1;
+    while (i < s.length()) {
+      if (s.charAt(i++) == quote) {
+        // A doubled quote is an escaped quote
+        if (i < s.length() && s.charAt(i) == quote) {
+          i++;
+        } else {
+          break;
+        }
+      }
+    }
+    return i;
+  }
+
+  private final String prefix;
+  private final String row;
+  private final String suffix;
+  private final int paramCount;
+
+  private InsertRewriter(String prefix, String row, String suffix, int paramCount) {
+    this.prefix = prefix;
+    this.row = row;
+    this.suffix = suffix;
+    this.paramCount = paramCount;
+  }
+
+  /**
+   * @return the number of parameters of a row
+   */
+  int paramCount() {
+    return paramCount;
+  }
+
+  /**
+   * @return the maximum number of rows of a statement
+   */
+  int maxRows() {
+    return MAX_PARAMS / paramCount;
+  }
+
+  /**
+   * Rewrite the statement for several rows.
+   *
+   * @param rows the number of rows
+   * @return the rewritten statement
+   */
+  String rewrite(int rows) {
+    StringBuilder sb = new StringBuilder(prefix.length() + rows * (row.length() + 2) + suffix.length());
+    sb.append(prefix);
+    for (int r = 0;r < rows;r++) {
+      if (r > 0) {
+        sb.append(", ");
+      }
+      int offset = r * paramCount;
+      int len = row.length();
+      int i = 0;
+      while (i < len) {
+        char c = row.charAt(i);
+        if (c == '\'' || c == '"') {
+          int to = skipQuoted(row, i);
+          sb.append(row, i, to);
+          i = to;
+        } else if (c == '$') {
+          int to = i + 1;
+          while (to < len && Character.isDigit(row.charAt(to))) {
+            to++;
+          }
+          sb.append('$').append(Integer.parseInt(row.substring(i + 1, to)) + offset);
+          i = to;
+        } else {
+          sb.append(c);
+          i++;
+        }
+      }
+    }
+    sb.append(suffix);
+    return sb.toString();
+  }
+}
@@ -22,30 +22,61 @@ import com.julienviet.pgclient.PgClientOptions;
 import com.julienviet.pgclient.PgConnection;
 import com.julienviet.pgclient.PgPool;
 import com.julienviet.pgclient.PgPoolOptions;
+import com.julienviet.pgclient.codec.encoder.message.CancelRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.impl.NetSocketInternal;
 import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.net.NetClient;
 import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public class PgClientImpl implements PgClient {
 
+  /**
+   * The role of the server a connection is opened to.
+   */
+  enum Role {
+
+    ANY, PRIMARY, STANDBY_PREFERRED
+
+  }
+
+  /**
+   * How long a server that could not be connected to is tried after the other servers.
+   */
+  static final long HOST_RETRY_DELAY = 10000;
+
   final NetClient client;
   final VertxInternal vertx;
-  final String host;
-  final int port;
+  final List<Host> hosts;
+  private final AtomicInteger nextHost = new AtomicInteger();
   final boolean ssl;
   final String database;
   final String username;
   final String password;
   final boolean cachePreparedStatements;
   final int pipeliningLimit;
+  final boolean binaryResultFormat;
+  final int preparedStatementCacheMaxSize;
+  final long preparedStatementCacheMaxBytes;
+  final boolean writeCoalescing;
+  final long queryTimeout;
 
   public PgClientImpl(Vertx vertx, PgClientOptions options) {
 
@@ -55,8 +86,19 @@ public class PgClientImpl implements PgClient {
     netClientOptions.setSsl(false);
 
     this.ssl = options.isSsl();
-    this.host = options.getHost();
-    this.port = options.getPort();
+    this.hosts = new ArrayList<>();
+    if (options.getHosts().isEmpty()) {
+      hosts.add(new Host(options.getHost(), options.getPort()));
+    } else {
+      for (String host : options.getHosts()) {
+        int idx = host.lastIndexOf(':');
+        if (idx == -1) {
+          hosts.add(new Host(host, options.getPort()));
+        } else {
+          hosts.add(new Host(host.substring(0, idx), Integer.parseInt(host.substring(idx + 1))));
+        }
+      }
+    }
     this.database = options.getDatabase();
     this.username = options.getUsername();
     this.password = options.getPassword();
@@ -64,6 +106,11 @@ public class PgClientImpl implements PgClient {
     this.client = vertx.createNetClient(netClientOptions);
     this.cachePreparedStatements = options.getCachePreparedStatements();
     this.pipeliningLimit = options.getPipeliningLimit();
+    this.binaryResultFormat = options.getBinaryResultFormat();
+    this.preparedStatementCacheMaxSize = options.getPreparedStatementCacheMaxSize();
+    this.preparedStatementCacheMaxBytes = options.getPreparedStatementCacheMaxBytes();
+    this.writeCoalescing = options.getWriteCoalescing();
+    this.queryTimeout = options.getQueryTimeout();
   }
 
   @Override
@@ -72,20 +119,137 @@ public class PgClientImpl implements PgClient {
   }
 
   public void _connect(Handler<AsyncResult<Connection>> completionHandler) {
-    client.connect(port, host, null, ar -> {
+    _connect(Role.ANY, completionHandler);
+  }
+
+  /**
+   * Connect to a server with the given {@code role}, the servers are tried in turn until one of them has
+   * the role.
+   */
+  void _connect(Role role, Handler<AsyncResult<Connection>> completionHandler) {
+    if (hosts.size() == 1) {
+      // A single server has all the roles
+      _connect(hosts.get(0), completionHandler);
+    } else {
+      _connect(candidates().iterator(), role, null, null, completionHandler);
+    }
+  }
+
+  /**
+   * @return the servers starting with the next server in turn, the servers that recently failed come last
+   */
+  private List<Host> candidates() {
+    int size = hosts.size();
+    int start = Math.floorMod(nextHost.getAndIncrement(), size);
+    long now = System.currentTimeMillis();
+    List<Host> candidates = new ArrayList<>(size);
+    List<Host> failed = new ArrayList<>();
+    for (int i = 0;i < size;i++) {
+      Host host = hosts.get((start + i) % size);
+      if (now - host.failedAt < HOST_RETRY_DELAY) {
+        failed.add(host);
+      } else {
+        candidates.add(host);
+      }
+    }
+    candidates.addAll(failed);
+    return candidates;
+  }
+
+  private void _connect(Iterator<Host> it, Role role, Connection fallback, Throwable failure, Handler<AsyncResult<Connection>> completionHandler) {
+    if (!it.hasNext()) {
+      if (fallback != null) {
+        completionHandler.handle(Future.succeededFuture(fallback));
+      } else {
+        completionHandler.handle(Future.failedFuture(failure != null ? failure : new VertxException(role == Role.PRIMARY ? "No primary server available" : "No server available")));
+      }
+      return;
+    }
+    _connect(it.next(), ar -> {
+      if (ar.failed()) {
+        _connect(it, role, fallback, ar.cause(), completionHandler);
+      } else {
+        Connection conn = ar.result();
+        if (role == Role.ANY) {
+          completionHandler.handle(ar);
+        } else {
+          checkReadOnly(conn, ar2 -> {
+            if (ar2.failed()) {
+              conn.close(null);
+              _connect(it, role, fallback, ar2.cause(), completionHandler);
+            } else {
+              boolean standby = ar2.result();
+              if (role == Role.PRIMARY ? !standby : standby) {
+                if (fallback != null) {
+                  fallback.close(null);
+                }
+                completionHandler.handle(Future.succeededFuture(conn));
+              } else if (role == Role.STANDBY_PREFERRED && fallback == null) {
+                // Keep the primary server connection in case there is no standby server available
+                _connect(it, role, conn, failure, completionHandler);
+              } else {
+                conn.close(null);
+                _connect(it, role, fallback, failure, completionHandler);
+              }
+            }
+          });
+        }
+      }
+    });
+  }
+
+  /**
+   * Check whether a server only executes read only transactions: a standby server in recovery or a server whose
+   * sessions are read only, e.g with {@code default_transaction_read_only}. Only {@code transaction_read_only} is
+   * checked when the server does not provide {@code pg_is_in_recovery()}.
+   */
+  private void checkReadOnly(Connection conn, Handler<AsyncResult<Boolean>> handler) {
+    conn.schedule(new SimpleQueryCommand("SELECT pg_is_in_recovery(), current_setting('transaction_read_only')", new ResultSetBuilder(ar -> {
+      if (ar.succeeded()) {
+        JsonArray row = ar.result().getResults().get(0);
+        handler.handle(Future.succeededFuture(row.getBoolean(0) || "on".equals(row.getString(1))));
+      } else {
+        conn.schedule(new SimpleQueryCommand("SHOW transaction_read_only", new ResultSetBuilder(ar2 -> {
+          handler.handle(ar2.map(result -> "on".equals(result.getResults().get(0).getString(0))));
+        })));
+      }
+    })));
+  }
+
+  private void _connect(Host host, Handler<AsyncResult<Connection>> completionHandler) {
+    client.connect(host.port, host.host, null, ar -> {
       if (ar.succeeded()) {
+        host.failedAt = 0;
         NetSocketInternal socket = (NetSocketInternal) ar.result();
         SocketConnection conn = new SocketConnection(this, socket, vertx.getOrCreateContext());
         conn.init(username, password, database, completionHandler);
       } else {
+        host.failedAt = System.currentTimeMillis();
         completionHandler.handle(Future.failedFuture(ar.cause()));
       }
     });
   }
 
+  /**
+   * Send a cancel request on a new connection, the server closes the connection once it has processed the request.
+   */
+  void cancelRequest(String host, int port, int processId, int secretKey, Handler<AsyncResult<Void>> handler) {
+    client.connect(port, host, null, ar -> {
+      if (ar.succeeded()) {
+        NetSocket socket = ar.result();
+        ByteBuf buf = Unpooled.buffer(16);
+        new CancelRequest(processId, secretKey).encode(buf);
+        socket.closeHandler(v -> handler.handle(Future.succeededFuture()));
+        socket.write(Buffer.buffer(buf));
+      } else {
+        handler.handle(Future.failedFuture(ar.cause()));
+      }
+    });
+  }
+
   @Override
   public void connect(Handler<AsyncResult<PgConnection>> completionHandler) {
-    _connect(ar ->
+    _connect(Role.PRIMARY, ar ->
       completionHandler.handle(ar.map(conn -> {
         PgConnectionImpl p = new PgConnectionImpl(((SocketConnection)conn).context, conn);
         conn.init(p);
@@ -96,6 +260,18 @@ public class PgClientImpl implements PgClient {
 
   @Override
   public PgPool createPool(PgPoolOptions options) {
-    return new PgPoolImpl(vertx.getOrCreateContext(), this, options.getMaxSize(), options.getMode());
+    return new PgPoolImpl(vertx, this, options);
+  }
+
+  static class Host {
+
+    final String host;
+    final int port;
+    volatile long failedAt;
+
+    Host(String host, int port) {
+      this.host = host;
+      this.port = port;
+    }
   }
 }
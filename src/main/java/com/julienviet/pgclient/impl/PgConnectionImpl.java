@@ -77,6 +77,11 @@ public class PgConnectionImpl extends PgOperationsImpl implements PgConnection,
     conn.schedule(new SimpleQueryCommand(sql, new ResultSetBuilder(handler)));
   }
 
+  @Override
+  public void cancelRequest(Handler<AsyncResult<Void>> handler) {
+    conn.cancelRequest(handler);
+  }
+
   @Override
   public PgConnection closeHandler(Handler<Void> handler) {
     closeHandler = handler;
@@ -94,6 +99,18 @@ public class PgConnectionImpl extends PgOperationsImpl implements PgConnection,
     conn.close(this);
   }
 
+  @Override
+  public PgCopyIn copyFrom(String sql, Handler<AsyncResult<Integer>> completionHandler) {
+    PgCopyInImpl copyIn = new PgCopyInImpl(sql, completionHandler);
+    conn.schedule(copyIn.cmd);
+    return copyIn;
+  }
+
+  @Override
+  public PgCopyOut copyTo(String sql) {
+    return new PgCopyOutImpl(sql, this::schedule);
+  }
+
   @Override
   public PgPreparedStatement prepare(String sql) {
     // todo : should somehow try to reuse existing cache or make it automatic ? (I think we can)
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.PgCopyFormat;
+import com.julienviet.pgclient.PgCopyIn;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+import java.util.List;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class PgCopyInImpl implements PgCopyIn {
+
+  private static final int DEFAULT_WRITE_QUEUE_MAX_SIZE = 64 * 1024;
+
+  final CopyInCommand cmd;
+  private PgCopyFormat format = PgCopyFormat.TEXT;
+  private boolean binaryHeader;
+  private Handler<Throwable> exceptionHandler;
+
+  PgCopyInImpl(String sql, Handler<AsyncResult<Integer>> completionHandler) {
+    cmd = new CopyInCommand(sql, DEFAULT_WRITE_QUEUE_MAX_SIZE, ar -> {
+      Handler<Throwable> handler = exceptionHandler;
+      if (ar.failed() && handler != null) {
+        handler.handle(ar.cause());
+      }
+      if (completionHandler != null) {
+        completionHandler.handle(ar);
+      }
+    });
+  }
+
+  @Override
+  public PgCopyIn exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public PgCopyIn write(Buffer data) {
+    cmd.write(data.getByteBuf());
+    return this;
+  }
+
+  @Override
+  public PgCopyIn format(PgCopyFormat format) {
+    this.format = format;
+    return this;
+  }
+
+  @Override
+  public PgCopyIn writeRow(List<Object> row) {
+    ByteBuf buff = cmd.buffer();
+    int idx = buff.writerIndex();
+    try {
+      switch (format) {
+        case TEXT:
+          CopyRowEncoder.encodeText(row, buff);
+          break;
+        case CSV:
+          CopyRowEncoder.encodeCsv(row, buff);
+          break;
+        case BINARY:
+          if (!binaryHeader) {
+            CopyRowEncoder.encodeBinaryHeader(buff);
+          }
+          CopyRowEncoder.encodeBinary(row, buff);
+          binaryHeader = true;
+          break;
+      }
+    } catch (RuntimeException e) {
+      // Discard the partially encoded row
+      buff.writerIndex(idx);
+      throw e;
+    }
+    cmd.written();
+    return this;
+  }
+
+  @Override
+  public void end() {
+    if (format == PgCopyFormat.BINARY) {
+      // The header and the trailer are required even when no rows are copied
+      ByteBuf buff = cmd.buffer();
+      if (!binaryHeader) {
+        binaryHeader = true;
+        CopyRowEncoder.encodeBinaryHeader(buff);
+      }
+      CopyRowEncoder.encodeBinaryTrailer(buff);
+      cmd.written();
+    }
+    cmd.end();
+  }
+
+  @Override
+  public PgCopyIn setWriteQueueMaxSize(int maxSize) {
+    cmd.setWriteQueueMaxSize(maxSize);
+    return this;
+  }
+
+  @Override
+  public boolean writeQueueFull() {
+    return cmd.writeQueueFull();
+  }
+
+  @Override
+  public PgCopyIn drainHandler(Handler<Void> handler) {
+    cmd.drainHandler(handler);
+    return this;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.PgCopyOut;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class PgCopyOutImpl implements PgCopyOut {
+
+  private final Handler<CommandBase> execHandler;
+  private final String sql;
+  private CopyOutCommand cmd;
+  private boolean paused;
+  private boolean failed;
+  private Handler<Buffer> handler;
+  private Handler<Throwable> exceptionHandler;
+  private Handler<Void> endHandler;
+
+  PgCopyOutImpl(String sql, Handler<CommandBase> execHandler) {
+    this.sql = sql;
+    this.execHandler = execHandler;
+  }
+
+  @Override
+  public PgCopyOut exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public PgCopyOut handler(Handler<Buffer> handler) {
+    this.handler = handler;
+    if (handler != null && cmd == null) {
+      cmd = new CopyOutCommand(sql, this);
+      if (paused) {
+        cmd.pause();
+      }
+      execHandler.handle(cmd);
+    }
+    return this;
+  }
+
+  @Override
+  public PgCopyOut pause() {
+    paused = true;
+    if (cmd != null) {
+      cmd.pause();
+    }
+    return this;
+  }
+
+  @Override
+  public PgCopyOut resume() {
+    paused = false;
+    if (cmd != null) {
+      cmd.resume();
+    }
+    return this;
+  }
+
+  @Override
+  public PgCopyOut endHandler(Handler<Void> handler) {
+    endHandler = handler;
+    return this;
+  }
+
+  void handleData(Buffer data) {
+    Handler<Buffer> h = handler;
+    if (h != null) {
+      h.handle(data);
+    }
+  }
+
+  void handleException(Throwable err) {
+    failed = true;
+    Handler<Throwable> h = exceptionHandler;
+    if (h != null) {
+      h.handle(err);
+    }
+  }
+
+  void handleEnd() {
+    // A failed copy is not ended
+    Handler<Void> h = endHandler;
+    if (h != null && !failed) {
+      h.handle(null);
+    }
+  }
+}
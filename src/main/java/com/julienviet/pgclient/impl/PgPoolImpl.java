@@ -21,51 +21,345 @@ import com.julienviet.pgclient.*;
 import com.julienviet.pgclient.impl.provider.ConnectionPoolProvider;
 import com.julienviet.pgclient.impl.provider.ConnectionProvider;
 import com.julienviet.pgclient.impl.provider.SharedConnectionProvider;
+import io.netty.channel.EventLoop;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.impl.ContextImpl;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
- * Todo :
- *
- * - handle timeout when acquiring a connection
- * - for per statement pooling, have several physical connection and use the less busy one to avoid head of line blocking effect
- *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  * @author <a href="mailto:emad.albloushi@gmail.com">Emad Alblueshi</a>
  */
 public class PgPoolImpl extends PgOperationsImpl implements PgPool {
 
-  private final Context context;
-  private final ConnectionProvider provider;
+  private final VertxInternal vertx;
+  private final PgClientImpl client;
+  private final PgPoolOptions options;
+  private final SubPool pool;
+  private final ConcurrentMap<EventLoop, SubPool> pools;
+  private final ResultCache cache;
+  private volatile boolean closed;
 
-  public PgPoolImpl(Context context, PgClientImpl client, int maxSize, PoolingMode mode) {
-    if (maxSize < 1) {
+  public PgPoolImpl(VertxInternal vertx, PgClientImpl client, PgPoolOptions options) {
+    if (options.getMaxSize() < 1) {
       throw new IllegalArgumentException("Pool max size must be > 0");
     }
-    this.context = context;
-    this.provider = mode == PoolingMode.STATEMENT ? new SharedConnectionProvider(client::_connect) : new ConnectionPoolProvider(client::_connect, maxSize);
+    this.vertx = vertx;
+    this.client = client;
+    this.options = new PgPoolOptions(options);
+    if (options.getResultCacheMaxSize() > 0 || options.getCoalesceQueries()) {
+      this.cache = new ResultCache(options.getResultCacheMaxSize(), options.getResultCacheTtl(), System::currentTimeMillis);
+    } else {
+      this.cache = null;
+    }
+    if (options.getPerEventLoop()) {
+      this.pool = null;
+      this.pools = new ConcurrentHashMap<>();
+    } else {
+      this.pool = new SubPool(vertx.getOrCreateContext());
+      this.pools = null;
+    }
+  }
+
+  /**
+   * @return the pool of the current event loop or the pool when there is a single pool, {@code null} when
+   *         this pool is closed
+   */
+  private SubPool pool() {
+    if (closed) {
+      return null;
+    }
+    if (pools == null) {
+      return pool;
+    }
+    ContextImpl current = vertx.getOrCreateContext();
+    // The first context of an event loop is the context of its pool, the others hop to it on the same thread
+    SubPool subPool = pools.computeIfAbsent(current.nettyEventLoop(), loop -> new SubPool(current));
+    if (closed) {
+      // Created while closing, it may have been missed by the close
+      subPool.close();
+      return null;
+    }
+    return subPool;
   }
 
   @Override
   public void getConnection(Handler<AsyncResult<PgConnection>> handler) {
-    Context current = Vertx.currentContext();
-    if (current == context) {
-      provider.acquire(new ConnectionWaiter(handler));
+    SubPool subPool = pool();
+    if (subPool != null) {
+      subPool.getConnection(handler);
     } else {
-      context.runOnContext(v -> getConnection(handler));
+      handler.handle(Future.failedFuture("Pool closed"));
+    }
+  }
+
+  @Override
+  public void warmUp(Handler<AsyncResult<Void>> completionHandler) {
+    SubPool subPool = pool();
+    if (subPool != null) {
+      subPool.warmUp(completionHandler);
+    } else {
+      completionHandler.handle(Future.failedFuture("Pool closed"));
     }
   }
 
   @Override
   protected void schedule(CommandBase cmd) {
-    Context current = Vertx.currentContext();
-    if (current == context) {
-      provider.acquire(new CommandWaiter(cmd));
+    SubPool subPool = pool();
+    if (subPool != null) {
+      subPool.schedule(cmd);
     } else {
-      context.runOnContext(v -> schedule(cmd));
+      cmd.fail(new VertxException("Pool closed"));
+    }
+  }
+
+  @Override
+  public void preparedQuery(String sql, List<Object> params, Handler<AsyncResult<ResultSet>> handler) {
+    if (cache != null) {
+      Context context = vertx.getOrCreateContext();
+      cache.get(sql, params, ar -> {
+        // The result is loaded on the context of another waiter
+        if (Vertx.currentContext() == context) {
+          handler.handle(ar);
+        } else {
+          context.runOnContext(v -> handler.handle(ar));
+        }
+      }, loader -> super.preparedQuery(sql, params, loader));
+    } else {
+      super.preparedQuery(sql, params, handler);
+    }
+  }
+
+  @Override
+  public void invalidate(String sql) {
+    if (cache != null) {
+      cache.invalidate(sql);
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  @Override
+  public void metrics(Handler<AsyncResult<JsonObject>> handler) {
+    Context context = vertx.getOrCreateContext();
+    List<SubPool> list = pools == null ? Collections.singletonList(pool) : new ArrayList<>(pools.values());
+    JsonObject metrics = new JsonObject()
+      .put("waitQueueSize", 0)
+      .put("queueDepths", new JsonArray())
+      .put("preparedStatementCache", new JsonObject().put("hits", 0L).put("misses", 0L).put("evictions", 0L));
+    AtomicInteger count = new AtomicInteger(list.size());
+    for (SubPool subPool : list) {
+      subPool.metrics(metrics, v -> {
+        if (count.decrementAndGet() == 0) {
+          context.runOnContext(v2 -> handler.handle(Future.succeededFuture(metrics)));
+        }
+      });
+    }
+    if (list.isEmpty()) {
+      context.runOnContext(v -> handler.handle(Future.succeededFuture(metrics)));
+    }
+  }
+
+  private ConnectionProvider createProvider(PgClientImpl.Role role) {
+    Consumer<Handler<AsyncResult<Connection>>> connector = handler -> client._connect(role, handler);
+    switch (options.getMode()) {
+      case STATEMENT:
+        return new SharedConnectionProvider(connector, options.getMaxSize(), Integer.MAX_VALUE, options.getMaxWaitQueueSize());
+      case PIPELINED:
+        return new SharedConnectionProvider(connector, options.getMaxSize(), client.pipeliningLimit, options.getMaxWaitQueueSize());
+      default:
+        return new ConnectionPoolProvider(connector, PgPoolImpl::validate, options, System::currentTimeMillis);
+    }
+  }
+
+  private static void validate(Connection conn, Handler<AsyncResult<Void>> handler) {
+    conn.schedule(new SimpleQueryCommand("SELECT 1", new ResultSetBuilder(ar -> handler.handle(ar.map((Void) null)))));
+  }
+
+  /**
+   * @return the period of the eviction of the idle connections or {@code 0} when there is nothing to evict
+   */
+  private long evictionPeriod() {
+    long period = 0;
+    for (long value : new long[] { options.getIdleTimeout(), options.getMaxLifetime(), options.getValidationInterval() }) {
+      if (value > 0 && (period == 0 || value < period)) {
+        period = value;
+      }
+    }
+    return period > 0 ? Math.max(1, period / 2) : 0;
+  }
+
+  /**
+   * The connections of an event loop, they are only used from the pool context.
+   */
+  private class SubPool {
+
+    private final Context context;
+    private final ConnectionProvider provider;
+    private final ConnectionProvider readProvider;
+    private long timerID = -1;
+    private boolean closed;
+
+    private SubPool(Context context) {
+      this.context = context;
+      this.provider = createProvider(PgClientImpl.Role.PRIMARY);
+      this.readProvider = options.getReadRouting() ? createProvider(PgClientImpl.Role.STANDBY_PREFERRED) : null;
+      long period = evictionPeriod();
+      if (options.getMinIdle() > 0 || period > 0) {
+        context.runOnContext(v -> {
+          if (!closed) {
+            if (options.getMinIdle() > 0) {
+              providers().forEach(provider -> provider.warmUp(ar -> {}));
+            }
+            if (period > 0) {
+              timerID = vertx.setPeriodic(period, id -> providers().forEach(ConnectionProvider::evict));
+            }
+          }
+        });
+      }
+    }
+
+    void getConnection(Handler<AsyncResult<PgConnection>> handler) {
+      Context current = Vertx.currentContext();
+      if (current == context) {
+        acquire(provider, new ConnectionWaiter(context, handler));
+      } else {
+        context.runOnContext(v -> getConnection(handler));
+      }
+    }
+
+    void metrics(JsonObject metrics, Handler<Void> handler) {
+      Context current = Vertx.currentContext();
+      if (current == context) {
+        int waitQueueSize = 0;
+        List<Integer> queueDepths = new ArrayList<>();
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        for (ConnectionProvider provider : providers()) {
+          waitQueueSize += provider.waitQueueSize();
+          queueDepths.addAll(provider.queueDepths());
+          for (Connection conn : provider.connections()) {
+            hits += conn.preparedStatementCacheHits();
+            misses += conn.preparedStatementCacheMisses();
+            evictions += conn.preparedStatementCacheEvictions();
+          }
+        }
+        // Merged by the sub pools from their own event loop
+        synchronized (metrics) {
+          metrics.put("waitQueueSize", metrics.getInteger("waitQueueSize") + waitQueueSize);
+          JsonArray array = metrics.getJsonArray("queueDepths");
+          queueDepths.forEach(array::add);
+          JsonObject cache = metrics.getJsonObject("preparedStatementCache");
+          cache.put("hits", cache.getLong("hits") + hits);
+          cache.put("misses", cache.getLong("misses") + misses);
+          cache.put("evictions", cache.getLong("evictions") + evictions);
+        }
+        handler.handle(null);
+      } else {
+        context.runOnContext(v -> metrics(metrics, handler));
+      }
+    }
+
+    void warmUp(Handler<AsyncResult<Void>> completionHandler) {
+      Context current = Vertx.currentContext();
+      if (current == context) {
+        if (readProvider != null) {
+          provider.warmUp(ar -> {
+            if (ar.succeeded()) {
+              readProvider.warmUp(completionHandler);
+            } else {
+              completionHandler.handle(ar);
+            }
+          });
+        } else {
+          provider.warmUp(completionHandler);
+        }
+      } else {
+        context.runOnContext(v -> warmUp(completionHandler));
+      }
+    }
+
+    void schedule(CommandBase cmd) {
+      Context current = Vertx.currentContext();
+      if (current == context) {
+        // Queries are read only and can execute on a standby server
+        acquire(readProvider != null && cmd instanceof QueryCommandBase ? readProvider : provider, new CommandWaiter(cmd));
+      } else {
+        context.runOnContext(v -> schedule(cmd));
+      }
+    }
+
+    private List<ConnectionProvider> providers() {
+      return readProvider != null ? Arrays.asList(provider, readProvider) : Collections.singletonList(provider);
+    }
+
+    private void acquire(ConnectionProvider provider, Handler<AsyncResult<Connection>> waiter) {
+      long timeout = options.getAcquireTimeout();
+      if (timeout > 0) {
+        TimedWaiter timed = new TimedWaiter(waiter);
+        timed.timerID = vertx.setTimer(timeout, id -> {
+          if (provider.cancel(timed)) {
+            waiter.handle(Future.failedFuture(new PgPoolBusyException("Timeout acquiring a connection after " + timeout + "ms")));
+          }
+        });
+        provider.acquire(timed);
+      } else {
+        provider.acquire(waiter);
+      }
+    }
+
+    void close() {
+      Context current = Vertx.currentContext();
+      if (current == context) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        if (timerID != -1) {
+          vertx.cancelTimer(timerID);
+        }
+        providers().forEach(ConnectionProvider::close);
+      } else {
+        context.runOnContext(v -> close());
+      }
+    }
+  }
+
+  private class TimedWaiter implements Handler<AsyncResult<Connection>> {
+
+    private final Handler<AsyncResult<Connection>> waiter;
+    private long timerID;
+
+    private TimedWaiter(Handler<AsyncResult<Connection>> waiter) {
+      this.waiter = waiter;
+    }
+
+    @Override
+    public void handle(AsyncResult<Connection> ar) {
+      vertx.cancelTimer(timerID);
+      waiter.handle(ar);
     }
   }
 
@@ -88,7 +382,7 @@ public class PgPoolImpl extends PgOperationsImpl implements PgPool {
           conn.close(this);
         });
       } else {
-        throw new UnsupportedOperationException("Handle me gracefully");
+        cmd.fail(ar.cause());
       }
     }
 
@@ -109,9 +403,11 @@ public class PgPoolImpl extends PgOperationsImpl implements PgPool {
 
   private class ConnectionWaiter implements Handler<AsyncResult<Connection>> {
 
+    private final Context context;
     private final Handler<AsyncResult<PgConnection>> handler;
 
-    private ConnectionWaiter(Handler<AsyncResult<PgConnection>> handler) {
+    private ConnectionWaiter(Context context, Handler<AsyncResult<PgConnection>> handler) {
+      this.context = context;
       this.handler = handler;
     }
 
@@ -130,6 +426,13 @@ public class PgPoolImpl extends PgOperationsImpl implements PgPool {
 
   @Override
   public void close() {
-    provider.close();
+    closed = true;
+    if (pools == null) {
+      pool.close();
+    } else {
+      for (SubPool subPool : new ArrayList<>(pools.values())) {
+        subPool.close();
+      }
+    }
   }
 }
@@ -35,12 +35,12 @@ class PgPreparedStatementImpl implements PgPreparedStatement {
   final String sql;
   final AtomicBoolean closed = new AtomicBoolean();
   boolean parsed;
-  final String stmt;
+  final PreparedStatement stmt;
 
   PgPreparedStatementImpl(Connection conn, String sql, String stmt) {
     this.conn = conn;
     this.sql = sql;
-    this.stmt = stmt;
+    this.stmt = new PreparedStatement(stmt);
   }
 
   @Override
@@ -69,11 +69,12 @@ class PgPreparedStatementImpl implements PgPreparedStatement {
     });
   }
 
-  void execute(List<Object> params,
-               int fetch,
-               String portal,
-               boolean suspended,
-               QueryResultHandler handler) {
+  ExtendedQueryCommand execute(List<Object> params,
+                               int fetch,
+                               long timeout,
+                               String portal,
+                               boolean suspended,
+                               QueryResultHandler handler) {
     boolean parse;
     if (!parsed) {
       parsed = true;
@@ -81,8 +82,11 @@ class PgPreparedStatementImpl implements PgPreparedStatement {
     } else {
       parse = false;
     }
-    conn.schedule(new ExtendedQueryCommand(parse, sql, params, fetch, stmt, portal, suspended, handler));
+    ExtendedQueryCommand cmd = new ExtendedQueryCommand(parse, sql, params, fetch, stmt, portal, suspended, handler);
+    cmd.timeout = timeout;
+    conn.schedule(cmd);
     // conn.schedule(new ExtendedQueryCommand(sql, params, handler));
+    return cmd;
   }
 
   void update(List<List<Object>> paramsList, Handler<AsyncResult<List<UpdateResult>>> handler) {
@@ -96,10 +100,21 @@ class PgPreparedStatementImpl implements PgPreparedStatement {
     conn.schedule(new PreparedUpdateCommand(parse, sql, stmt, paramsList, handler));
   }
 
+  void update(String sql, List<List<Object>> paramsList, Handler<AsyncResult<List<UpdateResult>>> handler) {
+    conn.schedule(new PreparedUpdateCommand(sql, paramsList, handler));
+  }
+
+  void update(String sql, List<List<Object>> paramsList, String tailSql, List<Object> tailParams, Handler<AsyncResult<List<UpdateResult>>> handler) {
+    PreparedUpdateCommand cmd = new PreparedUpdateCommand(sql, paramsList, handler);
+    cmd.tailSql = tailSql;
+    cmd.tailParams = tailParams;
+    conn.schedule(cmd);
+  }
+
   @Override
   public void close(Handler<AsyncResult<Void>> completionHandler) {
     if (closed.compareAndSet(false, true)) {
-      conn.schedule(new CloseStatementCommand(stmt, completionHandler));
+      conn.schedule(new CloseStatementCommand(stmt.name, completionHandler));
     } else {
       completionHandler.handle(Future.failedFuture("Already closed"));
     }
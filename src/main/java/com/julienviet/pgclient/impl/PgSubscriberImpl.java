@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.PgChannel;
+import com.julienviet.pgclient.PgSubscriber;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The subscriber state is guarded by the subscriber lock, the handlers are called outside of the lock on
+ * the context of their channel.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+public class PgSubscriberImpl implements PgSubscriber, Connection.Holder {
+
+  private static final Function<Integer, Long> DEFAULT_RECONNECT_POLICY = count -> 1000L;
+
+  private final PgClientImpl client;
+  private final Map<String, Subscription> subscriptions = new HashMap<>();
+  private Function<Integer, Long> reconnectPolicy = DEFAULT_RECONNECT_POLICY;
+  private Handler<Void> closeHandler;
+  private Connection conn;
+  private Context context;
+  private boolean connecting;
+  private boolean updateScheduled;
+  private boolean closed;
+
+  public PgSubscriberImpl(PgClientImpl client) {
+    this.client = client;
+  }
+
+  @Override
+  public synchronized PgChannel channel(String name) {
+    return new ChannelImpl(name);
+  }
+
+  @Override
+  public PgSubscriber connect(Handler<AsyncResult<Void>> handler) {
+    synchronized (this) {
+      if (closed || conn != null || connecting) {
+        handler.handle(Future.failedFuture(new VertxException(closed ? "Subscriber closed" : "Subscriber already connected")));
+        return this;
+      }
+      connecting = true;
+    }
+    doConnect(handler);
+    return this;
+  }
+
+  private void doConnect(Handler<AsyncResult<Void>> handler) {
+    // LISTEN is not supported by the standby servers
+    client._connect(PgClientImpl.Role.PRIMARY, ar -> {
+      if (ar.succeeded()) {
+        Connection c = ar.result();
+        synchronized (this) {
+          connecting = false;
+          if (!closed) {
+            conn = c;
+            context = Vertx.currentContext();
+            c.init(this);
+            // Subscribe again to the channels after a reconnection
+            subscriptions.values().forEach(sub -> sub.listening = false);
+            scheduleUpdate();
+            c = null;
+          }
+        }
+        if (c != null) {
+          c.close(null);
+          handler.handle(Future.failedFuture(new VertxException("Subscriber closed")));
+        } else {
+          handler.handle(Future.succeededFuture());
+        }
+      } else {
+        synchronized (this) {
+          connecting = false;
+        }
+        handler.handle(Future.failedFuture(ar.cause()));
+      }
+    });
+  }
+
+  private void reconnect(int count) {
+    long delay;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      delay = reconnectPolicy.apply(count);
+      if (delay >= 0) {
+        connecting = true;
+      }
+    }
+    if (delay < 0) {
+      close();
+    } else {
+      client.vertx.setTimer(Math.max(1, delay), id -> doConnect(ar -> {
+        if (ar.failed()) {
+          reconnect(count + 1);
+        }
+      }));
+    }
+  }
+
+  /**
+   * Update the subscriptions of the connection at the end of the current tick, so the changes of a tick are sent
+   * with a single query.
+   */
+  private void scheduleUpdate() {
+    if (conn != null && !updateScheduled) {
+      updateScheduled = true;
+      context.runOnContext(v -> update());
+    }
+  }
+
+  private void update() {
+    StringBuilder sql = new StringBuilder();
+    List<Subscription> listened = new ArrayList<>();
+    Connection c;
+    synchronized (this) {
+      updateScheduled = false;
+      c = conn;
+      if (c == null) {
+        return;
+      }
+      for (Iterator<Subscription> it = subscriptions.values().iterator();it.hasNext();) {
+        Subscription sub = it.next();
+        if (sub.channels.isEmpty()) {
+          if (sub.listening) {
+            sql.append("UNLISTEN ").append(sub.quotedName).append(';');
+          }
+          it.remove();
+        } else if (!sub.listening) {
+          sub.listening = true;
+          sql.append("LISTEN ").append(sub.quotedName).append(';');
+          listened.add(sub);
+        }
+      }
+    }
+    if (sql.length() > 0) {
+      c.schedule(new SimpleQueryCommand(sql.toString(), new ResultSetBuilder(ar -> {
+        if (ar.succeeded()) {
+          for (Subscription sub : listened) {
+            sub.subscribed();
+          }
+        } else {
+          // The connection is in an unknown state, the subscriptions are restored by the reconnection
+          c.close(this);
+        }
+      })));
+    }
+  }
+
+  @Override
+  public synchronized PgSubscriber reconnectPolicy(Function<Integer, Long> policy) {
+    reconnectPolicy = policy != null ? policy : DEFAULT_RECONNECT_POLICY;
+    return this;
+  }
+
+  @Override
+  public synchronized PgSubscriber closeHandler(Handler<Void> handler) {
+    closeHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized boolean closed() {
+    return closed;
+  }
+
+  @Override
+  public void close() {
+    Connection c;
+    List<ChannelImpl> ended = new ArrayList<>();
+    Handler<Void> handler;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      c = conn;
+      conn = null;
+      subscriptions.values().forEach(sub -> ended.addAll(sub.channels));
+      subscriptions.clear();
+      handler = closeHandler;
+    }
+    if (c != null) {
+      c.close(this);
+    }
+    ended.forEach(ChannelImpl::end);
+    if (handler != null) {
+      handler.handle(null);
+    }
+  }
+
+  @Override
+  public synchronized Connection connection() {
+    return conn;
+  }
+
+  @Override
+  public void handleNotification(int processId, String channel, String payload) {
+    List<ChannelImpl> channels;
+    synchronized (this) {
+      Subscription sub = subscriptions.get(channel);
+      if (sub == null) {
+        return;
+      }
+      channels = new ArrayList<>(sub.channels);
+    }
+    for (ChannelImpl ch : channels) {
+      ch.handle(payload);
+    }
+  }
+
+  @Override
+  public void handleClosed() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      conn = null;
+      subscriptions.values().forEach(sub -> sub.listening = false);
+    }
+    reconnect(0);
+  }
+
+  @Override
+  public void handleException(Throwable err) {
+    // The connection is closed afterwards and the subscriber reconnects
+  }
+
+  /**
+   * The channels of the same name share a subscription.
+   */
+  private class Subscription {
+
+    private final String quotedName;
+    private final List<ChannelImpl> channels = new ArrayList<>();
+    private boolean listening;
+
+    private Subscription(String name) {
+      this.quotedName = "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+
+    private void subscribed() {
+      List<ChannelImpl> list;
+      synchronized (PgSubscriberImpl.this) {
+        list = new ArrayList<>(channels);
+      }
+      list.forEach(ChannelImpl::subscribed);
+    }
+  }
+
+  private class ChannelImpl implements PgChannel {
+
+    private final String name;
+    private Context context;
+    private Handler<String> eventHandler;
+    private Handler<Void> subscribeHandler;
+    private Handler<Void> endHandler;
+    private boolean paused;
+
+    private ChannelImpl(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public PgChannel subscribeHandler(Handler<Void> handler) {
+      synchronized (PgSubscriberImpl.this) {
+        subscribeHandler = handler;
+      }
+      return this;
+    }
+
+    @Override
+    public PgChannel exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public PgChannel handler(Handler<String> handler) {
+      boolean subscribed = false;
+      synchronized (PgSubscriberImpl.this) {
+        if (closed) {
+          throw new IllegalStateException("Subscriber closed");
+        }
+        if (handler != null) {
+          context = client.vertx.getOrCreateContext();
+          if (eventHandler == null) {
+            Subscription sub = subscriptions.computeIfAbsent(name, Subscription::new);
+            sub.channels.add(this);
+            subscribed = sub.listening;
+          }
+        } else if (eventHandler != null) {
+          Subscription sub = subscriptions.get(name);
+          sub.channels.remove(this);
+        }
+        eventHandler = handler;
+        scheduleUpdate();
+      }
+      if (subscribed) {
+        // Already listened by another channel
+        subscribed();
+      }
+      return this;
+    }
+
+    @Override
+    public PgChannel pause() {
+      synchronized (PgSubscriberImpl.this) {
+        paused = true;
+      }
+      return this;
+    }
+
+    @Override
+    public PgChannel resume() {
+      synchronized (PgSubscriberImpl.this) {
+        paused = false;
+      }
+      return this;
+    }
+
+    @Override
+    public PgChannel endHandler(Handler<Void> handler) {
+      synchronized (PgSubscriberImpl.this) {
+        endHandler = handler;
+      }
+      return this;
+    }
+
+    private void handle(String payload) {
+      Handler<String> handler;
+      Context ctx;
+      synchronized (PgSubscriberImpl.this) {
+        handler = paused ? null : eventHandler;
+        ctx = context;
+      }
+      if (handler != null) {
+        ctx.runOnContext(v -> handler.handle(payload));
+      }
+    }
+
+    private void subscribed() {
+      Handler<Void> handler;
+      Context ctx;
+      synchronized (PgSubscriberImpl.this) {
+        handler = subscribeHandler;
+        ctx = context;
+      }
+      if (handler != null) {
+        ctx.runOnContext(handler);
+      }
+    }
+
+    private void end() {
+      Handler<Void> handler;
+      Context ctx;
+      synchronized (PgSubscriberImpl.this) {
+        handler = endHandler;
+        ctx = context;
+        eventHandler = null;
+      }
+      if (handler != null) {
+        ctx.runOnContext(handler);
+      }
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.codec.Column;
+import com.julienviet.pgclient.codec.DataFormat;
+import com.julienviet.pgclient.codec.DataType;
+import com.julienviet.pgclient.codec.decoder.message.ParameterDescription;
+import com.julienviet.pgclient.codec.decoder.message.RowDescription;
+
+/**
+ * A statement prepared on a connection along with what the connection learnt about the rows it returns.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class PreparedStatement {
+
+  final String name;
+  private ParameterDescription paramDesc;
+  private RowDescription rowDesc;
+  private RowDescription binaryRowDesc;
+  private boolean described;
+  private DataType[] paramTypes;
+  private DataFormat[] resultFormats;
+  // The open portals bound from this statement, closing the statement would drop them
+  int portals;
+
+  PreparedStatement(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the parameter description of the statement or {@code null} when it is not yet known
+   */
+  ParameterDescription paramDesc() {
+    return paramDesc;
+  }
+
+  /**
+   * @return the row description of the statement or {@code null} when it is not yet known
+   */
+  RowDescription rowDesc() {
+    return rowDesc;
+  }
+
+  /**
+   * @return whether the rows returned by the statement are known
+   */
+  boolean described() {
+    return described;
+  }
+
+  /**
+   * Returns the row description of a portal bound from this statement, the server does not need to describe
+   * the portal once the statement has been described.
+   *
+   * @param formats the result formats used to bind the portal or {@code null} for the text format
+   * @return the row description or {@code null} when the statement returns no rows
+   */
+  RowDescription rowDesc(DataFormat[] formats) {
+    if (rowDesc == null || formats == null) {
+      // The statement description always reports the text format
+      return rowDesc;
+    }
+    if (binaryRowDesc == null) {
+      Column[] columns = rowDesc.getColumns();
+      Column[] bound = new Column[columns.length];
+      for (int i = 0;i < columns.length;i++) {
+        Column column = columns[i];
+        bound[i] = new Column(
+          column.getName(),
+          column.getRelationId(),
+          column.getRelationAttributeNo(),
+          column.getDataType(),
+          column.getLength(),
+          column.getTypeModifier(),
+          formats[i]);
+      }
+      binaryRowDesc = new RowDescription(bound);
+    }
+    return binaryRowDesc;
+  }
+
+  /**
+   * @return the described parameter types or {@code null} when they are not yet known
+   */
+  DataType[] paramTypes() {
+    return paramTypes;
+  }
+
+  /**
+   * Learn the parameter types from the parameter description of the statement.
+   *
+   * @param paramDesc the parameter description
+   */
+  void describeParams(ParameterDescription paramDesc) {
+    if (this.paramDesc == null) {
+      this.paramDesc = paramDesc;
+      int[] paramDataTypes = paramDesc.getParamDataTypes();
+      DataType[] types = new DataType[paramDataTypes.length];
+      for (int i = 0;i < paramDataTypes.length;i++) {
+        types[i] = DataType.valueOf(paramDataTypes[i]);
+      }
+      paramTypes = types;
+    }
+  }
+
+  /**
+   * @return the result formats to use when binding this statement or {@code null} when they are not yet known
+   */
+  DataFormat[] resultFormats() {
+    return resultFormats;
+  }
+
+  /**
+   * Learn the binary result formats from the columns returned by the statement.
+   *
+   * @param rowDesc the row description or {@code null} when the statement returns no rows
+   */
+  void describe(RowDescription rowDesc) {
+    if (!described) {
+      described = true;
+      if (rowDesc != null) {
+        this.rowDesc = rowDesc;
+        Column[] columns = rowDesc.getColumns();
+        DataFormat[] formats = new DataFormat[columns.length];
+        for (int i = 0;i < columns.length;i++) {
+          formats[i] = columns[i].getDataType().supportsBinary() ? DataFormat.BINARY : DataFormat.TEXT;
+        }
+        resultFormats = formats;
+      }
+    }
+  }
+}
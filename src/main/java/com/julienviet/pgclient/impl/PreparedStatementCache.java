@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A bounded least recently used cache of the statements prepared on a connection, the statements evicted
+ * from the cache are handed to an eviction handler that closes them on the server.
+ * <p>
+ * The size of a statement is approximated by the length of its SQL string.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class PreparedStatementCache {
+
+  private final LinkedHashMap<String, PreparedStatement> map = new LinkedHashMap<>(16, 0.75f, true);
+  private final int maxSize;
+  private final long maxBytes;
+  private final Consumer<PreparedStatement> evictionHandler;
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  PreparedStatementCache(int maxSize, long maxBytes, Consumer<PreparedStatement> evictionHandler) {
+    this.maxSize = maxSize;
+    this.maxBytes = maxBytes;
+    this.evictionHandler = evictionHandler;
+  }
+
+  PreparedStatement get(String sql) {
+    PreparedStatement ps = map.get(sql);
+    if (ps != null) {
+      hits++;
+    } else {
+      misses++;
+    }
+    return ps;
+  }
+
+  void put(String sql, PreparedStatement ps) {
+    PreparedStatement prev = map.put(sql, ps);
+    if (prev != null) {
+      bytes -= sql.length();
+      evictionHandler.accept(prev);
+    }
+    bytes += sql.length();
+    // Never evict the statement we just added nor the statements with open portals, the cache
+    // exceeds its bounds until their portals are closed
+    Iterator<Map.Entry<String, PreparedStatement>> it = map.entrySet().iterator();
+    while (it.hasNext() && (map.size() > maxSize || bytes > maxBytes)) {
+      Map.Entry<String, PreparedStatement> eldest = it.next();
+      if (eldest.getValue() == ps || eldest.getValue().portals > 0) {
+        continue;
+      }
+      it.remove();
+      bytes -= eldest.getKey().length();
+      evictions++;
+      evictionHandler.accept(eldest.getValue());
+    }
+  }
+
+  int size() {
+    return map.size();
+  }
+
+  long hits() {
+    return hits;
+  }
+
+  long misses() {
+    return misses;
+  }
+
+  long evictions() {
+    return evictions;
+  }
+}
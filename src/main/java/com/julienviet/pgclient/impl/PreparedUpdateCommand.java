@@ -18,16 +18,20 @@
 package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.UpdateResult;
+import com.julienviet.pgclient.codec.DataType;
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.message.BindComplete;
+import com.julienviet.pgclient.codec.decoder.message.CloseComplete;
 import com.julienviet.pgclient.codec.decoder.message.NoData;
 import com.julienviet.pgclient.codec.decoder.message.ParameterDescription;
 import com.julienviet.pgclient.codec.decoder.message.ParseComplete;
+import com.julienviet.pgclient.codec.decoder.message.RowDescription;
 import com.julienviet.pgclient.codec.encoder.message.Bind;
 import com.julienviet.pgclient.codec.encoder.message.Describe;
 import com.julienviet.pgclient.codec.encoder.message.Execute;
 import com.julienviet.pgclient.codec.encoder.message.Parse;
 import com.julienviet.pgclient.codec.encoder.message.Sync;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -45,16 +49,19 @@ class PreparedUpdateCommand extends UpdateCommandBase {
 
   final boolean parse;
   final String sql;
-  final String stmt;
+  final PreparedStatement stmt;
   final List<List<Object>> paramsList;
   final Handler<AsyncResult<List<UpdateResult>>> handler;
+  String tailSql;
+  List<Object> tailParams;
   private ArrayList<UpdateResult> results;
+  private PreparedStatement current;
 
   PreparedUpdateCommand(String sql, List<List<Object>> paramsList, Handler<AsyncResult<List<UpdateResult>>> handler) {
-    this(true, sql, "", paramsList, handler);
+    this(true, sql, new PreparedStatement(""), paramsList, handler);
   }
 
-  PreparedUpdateCommand(boolean parse, String sql, String stmt, List<List<Object>> paramsList, Handler<AsyncResult<List<UpdateResult>>> handler) {
+  PreparedUpdateCommand(boolean parse, String sql, PreparedStatement stmt, List<List<Object>> paramsList, Handler<AsyncResult<List<UpdateResult>>> handler) {
     this.parse = parse;
     this.sql = sql;
     this.stmt = stmt;
@@ -66,13 +73,14 @@ class PreparedUpdateCommand extends UpdateCommandBase {
   @Override
   void exec(SocketConnection conn) {
     boolean p;
-    String s;
+    boolean cache = false;
+    PreparedStatement s;
     if (conn.psCache != null) {
       s = conn.psCache.get(sql);
       if (s == null) {
         p = true;
-        s = UUID.randomUUID().toString();
-        conn.psCache.put(sql, s);
+        cache = true;
+        s = new PreparedStatement(UUID.randomUUID().toString());
       } else {
         p = false;
       }
@@ -82,23 +90,45 @@ class PreparedUpdateCommand extends UpdateCommandBase {
     }
 
 
+    ByteBuf out = conn.out();
     if (p) {
-      conn.writeMessage(new Parse(sql).setStatement(s));
+      Parse.encode(s.name, sql, null, out);
+      if (s.name.length() > 0) {
+        // Learn the parameter types of a statement that will be reused so we can bind them in binary format
+        Describe.encode(s.name, null, out);
+      }
     }
+    current = s;
+    DataType[] paramTypes = s.paramTypes();
     for (List<Object> params : paramsList) {
-      conn.writeMessage(new Bind().setParamValues(params).setStatement(s));
-      conn.writeMessage(new Describe().setStatement(s));
-      conn.writeMessage(new Execute().setRowCount(0));
+      Bind.encode(null, s.name, params, paramTypes, null, out);
+      Execute.encode(null, 0, out);
+    }
+    if (tailSql != null) {
+      // Trailing statement of a different shape, sent before the same sync so it belongs to the same implicit transaction
+      Parse.encode("", tailSql, null, out);
+      Bind.encode(null, "", tailParams, null, null, out);
+      Execute.encode(null, 0, out);
+    }
+    if (cache) {
+      // Cache the statement once the messages are encoded, the eviction closes a statement before the sync
+      conn.psCache.put(sql, s);
     }
-    conn.writeMessage(Sync.INSTANCE);
+    Sync.INSTANCE.encode(out);
   }
 
   @Override
   public void handleMessage(InboundMessage msg) {
     if (msg.getClass() == ParameterDescription.class) {
+      current.describeParams((ParameterDescription) msg);
+    } else if (msg.getClass() == RowDescription.class) {
+      current.describe((RowDescription) msg);
     } else if (msg.getClass() == NoData.class) {
+      current.describe(null);
     } else if (msg.getClass() == ParseComplete.class) {
     } else if (msg.getClass() == BindComplete.class) {
+    } else if (msg.getClass() == CloseComplete.class) {
+      // Statement evicted from the cache
     } else {
       super.handleMessage(msg);
     }
@@ -107,7 +137,7 @@ class PreparedUpdateCommand extends UpdateCommandBase {
   @Override
   void handleResult(UpdateResult result) {
     results.add(result);
-    if (results.size() == paramsList.size()) {
+    if (results.size() == paramsList.size() + (tailSql != null ? 1 : 0)) {
       handler.handle(Future.succeededFuture(results));
     }
   }
@@ -19,8 +19,16 @@ package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.PgException;
 import com.julienviet.pgclient.ResultSet;
+import com.julienviet.pgclient.Row;
+import com.julienviet.pgclient.codec.Column;
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.message.*;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.Handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
@@ -29,19 +37,92 @@ import com.julienviet.pgclient.codec.decoder.message.*;
 abstract class QueryCommandBase extends CommandBase {
 
   protected final QueryResultHandler handler;
+  private Column[] columns;
+  private ResultSet resultSet;
+  private Handler<Row> rowHandler;
+  private RowImpl row;
+  private final ArrayDeque<InboundMessage> pending = new ArrayDeque<>();
+  private SocketConnection conn;
+  private boolean paused;
+  private boolean ended;
+  private int rowCount;
+  private long rowBytes;
 
   public QueryCommandBase(QueryResultHandler handler) {
     this.handler = handler;
   }
 
+  @Override
+  void exec(SocketConnection conn) {
+    this.conn = conn;
+    if (paused) {
+      conn.pause(this);
+    }
+  }
+
+  /**
+   * Stop reading the socket until {@link #resume()} is called, the messages already received are queued and
+   * delivered when the command is resumed.
+   */
+  void pause() {
+    if (!paused) {
+      paused = true;
+      if (conn != null && !ended) {
+        conn.pause(this);
+      }
+    }
+  }
+
+  void resume() {
+    if (paused) {
+      paused = false;
+      // The messages received before the pause are delivered first
+      InboundMessage msg;
+      while (!paused && (msg = pending.poll()) != null) {
+        if (msg.getClass() == ReadyForQuery.class) {
+          handler.end();
+        } else {
+          deliver(msg);
+        }
+      }
+      if (!paused && !ended && conn != null) {
+        conn.resume(this);
+      }
+    }
+  }
+
   @Override
   public void handleMessage(InboundMessage msg) {
     if (msg.getClass() == ReadyForQuery.class) {
-      super.handleMessage(msg);
-      handler.end();
+      ended = true;
+      if (paused) {
+        // Don't leave the socket paused for the next commands, the end is delivered when resumed
+        conn.resume(this);
+        super.handleMessage(msg);
+        pending.add(msg);
+      } else {
+        super.handleMessage(msg);
+        handler.end();
+      }
+    } else if (paused) {
+      pending.add(msg);
+    } else {
+      deliver(msg);
+    }
+  }
+
+  /**
+   * Deliver a message of the response to the result handler, the messages received while the command is paused
+   * are delivered after {@link #resume()}.
+   */
+  void deliver(InboundMessage msg) {
+    if (msg.getClass() == DataRow.class) {
+      handleDataRow(((DataRow) msg).getBuffer());
     } else if (msg.getClass() == CommandComplete.class) {
-      CommandComplete complete = (CommandComplete) msg;
-      handler.result(complete.getResultSet(), false);
+      handler.result(pollResultSet(), false);
+    } else if (msg.getClass() == RowDescription.class) {
+      RowDescription rowDesc = (RowDescription) msg;
+      handleRowDescription(rowDesc.getColumns());
     } else if (msg.getClass() == ErrorResponse.class) {
       ErrorResponse error = (ErrorResponse) msg;
       fail(new PgException(error));
@@ -50,8 +131,78 @@ abstract class QueryCommandBase extends CommandBase {
     }
   }
 
+  void handleRowDescription(Column[] columns) {
+    ArrayList<String> columnNames = new ArrayList<>(columns.length);
+    for (Column column : columns) {
+      columnNames.add(column.getName());
+    }
+    this.columns = columns;
+    this.rowCount = 0;
+    this.rowBytes = 0;
+    this.rowHandler = handler.rowHandler();
+    this.resultSet = new ResultSet().setColumnNames(columnNames).setResults(new ArrayList<>());
+  }
+
+  /**
+   * @return the number of rows received since the last row description
+   */
+  int rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return the size in bytes of the rows received since the last row description
+   */
+  long rowBytes() {
+    return rowBytes;
+  }
+
+  private void handleDataRow(ByteBuf buffer) {
+    rowCount++;
+    rowBytes += buffer.readableBytes();
+    try {
+      if (row == null) {
+        row = new RowImpl();
+      }
+      row.init(columns, buffer);
+      if (rowHandler != null) {
+        // Streamed rows are not accumulated in the result set
+        try {
+          rowHandler.handle(row);
+        } finally {
+          row.clear();
+        }
+      } else {
+        resultSet.getResults().add(row.toJson()); // HOT (TLAB)
+        row.clear();
+      }
+    } finally {
+      buffer.release();
+    }
+  }
+
+  /**
+   * @return the result set of the rows received since the last row description
+   */
+  ResultSet pollResultSet() {
+    ResultSet result = resultSet;
+    columns = null;
+    resultSet = null;
+    return result;
+  }
+
   @Override
   void fail(Throwable cause) {
+    // The queued rows are dropped, the end of the response is still delivered
+    for (Iterator<InboundMessage> it = pending.iterator();it.hasNext();) {
+      InboundMessage msg = it.next();
+      if (msg.getClass() != ReadyForQuery.class) {
+        if (msg.getClass() == DataRow.class) {
+          ((DataRow) msg).getBuffer().release();
+        }
+        it.remove();
+      }
+    }
     handler.fail(cause);
   }
 }
@@ -18,6 +18,8 @@
 package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.ResultSet;
+import com.julienviet.pgclient.Row;
+import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 
 import java.util.List;
@@ -33,4 +35,11 @@ public interface QueryResultHandler {
 
   void end();
 
+  /**
+   * @return the handler rows are streamed to or {@code null} when they are accumulated in the result set
+   */
+  default Handler<Row> rowHandler() {
+    return null;
+  }
+
 }
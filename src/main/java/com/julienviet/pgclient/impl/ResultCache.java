@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.ResultSet;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded least recently used cache of the results of prepared queries keyed by their SQL and parameters.
+ * <p>
+ * The concurrent misses of a query share a single execution of the query. A result loaded while the cache
+ * is invalidated is handed to the waiters but not cached since it may be stale, the misses after the invalidation
+ * execute the query again. A cache with a {@code 0} max size caches nothing and only coalesces the concurrent
+ * executions.
+ * <p>
+ * Each caller gets its own copy of the result set, so a caller modifying it does not affect the other callers
+ * nor the cached result. The values of the rows are not copied.
+ * <p>
+ * The cache is shared by the event loops of a pool and is thread safe, the handlers are called outside of
+ * the cache lock.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class ResultCache {
+
+  private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Key, List<Handler<AsyncResult<ResultSet>>>> loading = new HashMap<>();
+  private final int maxSize;
+  private final long ttl;
+  private final LongSupplier clock;
+  // Incremented by the invalidations, the results loading meanwhile are not cached, whatever their query
+  private long generation;
+  private long hits;
+  private long misses;
+
+  ResultCache(int maxSize, long ttl, LongSupplier clock) {
+    this.maxSize = maxSize;
+    this.ttl = ttl;
+    this.clock = clock;
+  }
+
+  /**
+   * Get the result of a query from the cache, or load it with the {@code loader} when it is not cached and
+   * no other load of the same query is in progress.
+   */
+  void get(String sql, List<Object> params, Handler<AsyncResult<ResultSet>> handler, Consumer<Handler<AsyncResult<ResultSet>>> loader) {
+    Key key = new Key(sql, new ArrayList<>(params));
+    ResultSet cached = null;
+    List<Handler<AsyncResult<ResultSet>>> waiters;
+    long gen;
+    synchronized (this) {
+      Entry entry = map.get(key);
+      if (entry != null && entry.expiresAt != 0 && entry.expiresAt <= clock.getAsLong()) {
+        map.remove(key);
+        entry = null;
+      }
+      if (entry != null) {
+        hits++;
+        cached = entry.result;
+        waiters = null;
+        gen = -1;
+      } else {
+        misses++;
+        waiters = loading.get(key);
+        if (waiters != null) {
+          waiters.add(handler);
+          return;
+        }
+        waiters = new ArrayList<>();
+        waiters.add(handler);
+        loading.put(key, waiters);
+        gen = generation;
+      }
+    }
+    if (cached != null) {
+      handler.handle(Future.succeededFuture(copy(cached)));
+    } else {
+      List<Handler<AsyncResult<ResultSet>>> w = waiters;
+      loader.accept(ar -> loaded(key, w, gen, ar));
+    }
+  }
+
+  private void loaded(Key key, List<Handler<AsyncResult<ResultSet>>> waiters, long gen, AsyncResult<ResultSet> ar) {
+    synchronized (this) {
+      // The waiters were detached when the query was invalidated, another load of the query may be in progress
+      loading.remove(key, waiters);
+      if (ar.succeeded() && gen == generation && maxSize > 0) {
+        map.put(key, new Entry(ar.result(), ttl > 0 ? clock.getAsLong() + ttl : 0));
+        if (map.size() > maxSize) {
+          Iterator<Entry> it = map.values().iterator();
+          it.next();
+          it.remove();
+        }
+      }
+    }
+    // Not modified anymore once removed from the loading map
+    for (Handler<AsyncResult<ResultSet>> waiter : waiters) {
+      waiter.handle(ar.succeeded() ? Future.succeededFuture(copy(ar.result())) : ar);
+    }
+  }
+
+  /**
+   * Invalidate the results of a query for all its parameters.
+   */
+  synchronized void invalidate(String sql) {
+    generation++;
+    map.keySet().removeIf(key -> key.sql.equals(sql));
+    // The misses after the invalidation must not join a load started before
+    loading.keySet().removeIf(key -> key.sql.equals(sql));
+  }
+
+  /**
+   * Invalidate all the results.
+   */
+  synchronized void invalidateAll() {
+    generation++;
+    map.clear();
+    loading.clear();
+  }
+
+  private static ResultSet copy(ResultSet result) {
+    List<JsonArray> rows = result.getResults();
+    List<JsonArray> copy = null;
+    if (rows != null) {
+      copy = new ArrayList<>(rows.size());
+      for (JsonArray row : rows) {
+        copy.add(new JsonArray(new ArrayList<>(row.getList())));
+      }
+    }
+    List<String> columnNames = result.getColumnNames();
+    return new ResultSet()
+      .setColumnNames(columnNames != null ? new ArrayList<>(columnNames) : null)
+      .setResults(copy)
+      .setOutput(result.getOutput());
+  }
+
+  synchronized int size() {
+    return map.size();
+  }
+
+  synchronized long hits() {
+    return hits;
+  }
+
+  synchronized long misses() {
+    return misses;
+  }
+
+  private static class Entry {
+
+    final ResultSet result;
+    final long expiresAt;
+
+    Entry(ResultSet result, long expiresAt) {
+      this.result = result;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private static class Key {
+
+    final String sql;
+    final List<Object> params;
+
+    Key(String sql, List<Object> params) {
+      this.sql = sql;
+      this.params = params;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Key that = (Key) o;
+      return sql.equals(that.sql) && params.equals(that.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(sql, params);
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.Row;
+import com.julienviet.pgclient.codec.Column;
+import com.julienviet.pgclient.codec.DataFormat;
+import io.netty.buffer.ByteBuf;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+/**
+ * A row over the buffer of a data row, the column offsets are computed when a value is first accessed.
+ * <p/>
+ * The same instance is used as a cursor by the query command, a retained row is backed by its own slice of the buffer.
+ *
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+class RowImpl implements Row {
+
+  private Column[] columns;
+  private ByteBuf buffer;
+  private int size;
+  private int[] offsets;
+  private boolean scanned;
+  private boolean retained;
+
+  /**
+   * Move the cursor to the row in the {@code buffer} positioned at the column count.
+   */
+  RowImpl init(Column[] columns, ByteBuf buffer) {
+    this.columns = columns;
+    this.buffer = buffer;
+    this.size = buffer.readUnsignedShort();
+    this.scanned = false;
+    return this;
+  }
+
+  void clear() {
+    columns = null;
+    buffer = null;
+    size = 0;
+  }
+
+  /**
+   * Decode the remaining of the buffer as a json array.
+   */
+  JsonArray toJson() {
+    JsonArray values = new JsonArray(new ArrayList(size)); // HOT
+    for (int c = 0; c < size; ++c) {
+      int length = buffer.readInt();
+      if (length != -1) {
+        values.add(decode(columns[c], length));
+      } else {
+        values.addNull();
+      }
+    }
+    return values;
+  }
+
+  private Object decode(Column column, int length) {
+    if (column.getDataFormat() == DataFormat.TEXT) {
+      return column.getDataType().decodeText(length, buffer);
+    } else {
+      return column.getDataType().decodeBinary(length, buffer);
+    }
+  }
+
+  private void checkAccess() {
+    if (buffer == null) {
+      throw new IllegalStateException(retained ? "The row has been released" : "The row cannot be accessed outside of the row handler");
+    }
+  }
+
+  private int offset(int pos) {
+    checkAccess();
+    if (pos < 0 || pos >= size) {
+      throw new IndexOutOfBoundsException("Invalid column " + pos);
+    }
+    if (!scanned) {
+      scanned = true;
+      if (offsets == null || offsets.length < size) {
+        offsets = new int[size];
+      }
+      int idx = buffer.readerIndex();
+      for (int c = 0;c < size;c++) {
+        offsets[c] = idx;
+        int length = buffer.getInt(idx);
+        idx += 4 + (length == -1 ? 0 : length);
+      }
+    }
+    return offsets[pos];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Row retain() {
+    checkAccess();
+    RowImpl row = new RowImpl();
+    row.columns = columns;
+    row.size = size;
+    // The slice starts at the first column
+    row.buffer = buffer.retainedSlice();
+    row.retained = true;
+    return row;
+  }
+
+  @Override
+  public boolean release() {
+    if (retained && buffer != null) {
+      ByteBuf buff = buffer;
+      clear();
+      buff.release();
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public String getColumnName(int pos) {
+    offset(pos);
+    return columns[pos].getName();
+  }
+
+  @Override
+  public Object getValue(int pos) {
+    int idx = offset(pos);
+    int length = buffer.getInt(idx);
+    if (length == -1) {
+      return null;
+    }
+    int readerIndex = buffer.readerIndex();
+    buffer.readerIndex(idx + 4);
+    try {
+      return decode(columns[pos], length);
+    } finally {
+      buffer.readerIndex(readerIndex);
+    }
+  }
+
+  @Override
+  public Boolean getBoolean(int pos) {
+    return (Boolean) getValue(pos);
+  }
+
+  @Override
+  public Integer getInteger(int pos) {
+    Number number = (Number) getValue(pos);
+    if (number == null) {
+      return null;
+    } else if (number instanceof Integer) {
+      return (Integer) number;
+    } else {
+      return number.intValue();
+    }
+  }
+
+  @Override
+  public Long getLong(int pos) {
+    Number number = (Number) getValue(pos);
+    if (number == null) {
+      return null;
+    } else if (number instanceof Long) {
+      return (Long) number;
+    } else {
+      return number.longValue();
+    }
+  }
+
+  @Override
+  public Float getFloat(int pos) {
+    Number number = (Number) getValue(pos);
+    if (number == null) {
+      return null;
+    } else if (number instanceof Float) {
+      return (Float) number;
+    } else {
+      return number.floatValue();
+    }
+  }
+
+  @Override
+  public Double getDouble(int pos) {
+    Number number = (Number) getValue(pos);
+    if (number == null) {
+      return null;
+    } else if (number instanceof Double) {
+      return (Double) number;
+    } else {
+      return number.doubleValue();
+    }
+  }
+
+  @Override
+  public String getString(int pos) {
+    Object value = getValue(pos);
+    return value != null ? value.toString() : null;
+  }
+
+  @Override
+  public JsonObject getJsonObject(int pos) {
+    return (JsonObject) getValue(pos);
+  }
+
+  @Override
+  public JsonArray getJsonArray(int pos) {
+    return (JsonArray) getValue(pos);
+  }
+
+  @Override
+  public Instant getInstant(int pos) {
+    return (Instant) getValue(pos);
+  }
+
+  @Override
+  public byte[] getBinary(int pos) {
+    return (byte[]) getValue(pos);
+  }
+}
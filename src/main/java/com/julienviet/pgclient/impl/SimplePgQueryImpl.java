@@ -19,7 +19,9 @@ package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.PgQuery;
 import com.julienviet.pgclient.ResultSet;
+import com.julienviet.pgclient.Row;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
 public class SimplePgQueryImpl implements PgQuery, QueryResultHandler {
@@ -27,8 +29,12 @@ public class SimplePgQueryImpl implements PgQuery, QueryResultHandler {
   private final Handler<CommandBase> execHandler;
   private final String sql;
   private Handler<ResultSet> resultHandler;
+  private Handler<Row> rowHandler;
+  private SimpleQueryCommand cmd;
+  private boolean paused;
   private Handler<Throwable> exceptionHandler;
   private Handler<Void> endHandler;
+  private long timeout;
 
   public SimplePgQueryImpl(String sql, Handler<CommandBase> execHandler) {
     this.execHandler = execHandler;
@@ -40,11 +46,34 @@ public class SimplePgQueryImpl implements PgQuery, QueryResultHandler {
     return this;
   }
 
+  @Override
+  public PgQuery adaptiveFetch(int bytes) {
+    return this;
+  }
+
   @Override
   public void close(Handler<AsyncResult<Void>> completionHandler) {
 
   }
 
+  @Override
+  public PgQuery timeout(long timeout) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("Timeout must be 0 (disabled) or a positive number");
+    }
+    this.timeout = timeout;
+    return this;
+  }
+
+  @Override
+  public void cancel(Handler<AsyncResult<Void>> handler) {
+    if (cmd != null) {
+      cmd.cancel(handler);
+    } else {
+      handler.handle(Future.succeededFuture());
+    }
+  }
+
   @Override
   public PgQuery exceptionHandler(Handler<Throwable> handler) {
     exceptionHandler = handler;
@@ -54,17 +83,50 @@ public class SimplePgQueryImpl implements PgQuery, QueryResultHandler {
   @Override
   public PgQuery handler(Handler<ResultSet> handler) {
     resultHandler = handler;
-    execHandler.handle(new SimpleQueryCommand(sql, this));
+    execute();
     return this;
   }
 
+  @Override
+  public PgQuery rowHandler(Handler<Row> handler) {
+    rowHandler = handler;
+    if (handler != null) {
+      execute();
+    }
+    return this;
+  }
+
+  @Override
+  public Handler<Row> rowHandler() {
+    return rowHandler;
+  }
+
+  private void execute() {
+    if (cmd == null) {
+      cmd = new SimpleQueryCommand(sql, this);
+      cmd.timeout = timeout;
+      if (paused) {
+        cmd.pause();
+      }
+      execHandler.handle(cmd);
+    }
+  }
+
   @Override
   public PgQuery pause() {
+    paused = true;
+    if (cmd != null) {
+      cmd.pause();
+    }
     return this;
   }
 
   @Override
   public PgQuery resume() {
+    paused = false;
+    if (cmd != null) {
+      cmd.resume();
+    }
     return this;
   }
 
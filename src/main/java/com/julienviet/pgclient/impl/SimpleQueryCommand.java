@@ -34,7 +34,8 @@ class SimpleQueryCommand extends QueryCommandBase {
 
   @Override
   void exec(SocketConnection conn) {
-    conn.writeMessage(new Query(sql));
+    super.exec(conn);
+    Query.encode(sql, conn.out());
   }
 
   public String getSql() {
@@ -19,20 +19,27 @@ package com.julienviet.pgclient.impl;
 
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.MessageDecoder;
+import com.julienviet.pgclient.codec.decoder.message.CopyData;
+import com.julienviet.pgclient.codec.decoder.message.DataRow;
+import com.julienviet.pgclient.codec.decoder.message.NotificationResponse;
 import com.julienviet.pgclient.codec.encoder.MessageEncoder;
 import com.julienviet.pgclient.codec.encoder.OutboundMessage;
+import com.julienviet.pgclient.codec.encoder.message.Close;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.DecoderException;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
 import io.vertx.core.impl.ContextImpl;
 import io.vertx.core.impl.NetSocketInternal;
+import io.vertx.core.net.SocketAddress;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
@@ -52,8 +59,14 @@ public class SocketConnection implements Connection {
   final Context context;
   private Status status = Status.CONNECTED;
   private Holder holder;
-  final Map<String, String> psCache;
+  final PreparedStatementCache psCache;
+  final boolean binaryResultFormat;
   private final int pipeliningLimit;
+  private final boolean writeCoalescing;
+  private final long queryTimeout;
+  int processId;
+  int secretKey;
+  private final Map<String, PreparedStatement> portals = new HashMap<>();
 
   public SocketConnection(PgClientImpl client,
                           NetSocketInternal socket,
@@ -61,8 +74,15 @@ public class SocketConnection implements Connection {
     this.socket = socket;
     this.client = client;
     this.context = context;
-    this.psCache = client.cachePreparedStatements ? new ConcurrentHashMap<>() : null;
+    // Evictions happen when a command is executed, the close is therefore sent along with the command messages
+    this.psCache = client.cachePreparedStatements ? new PreparedStatementCache(
+      client.preparedStatementCacheMaxSize,
+      client.preparedStatementCacheMaxBytes,
+      ps -> Close.encode(ps.name, null, out())) : null;
     this.pipeliningLimit = client.pipeliningLimit;
+    this.binaryResultFormat = client.binaryResultFormat;
+    this.writeCoalescing = client.writeCoalescing;
+    this.queryTimeout = client.queryTimeout;
   }
 
   void init(String username, String password, String database, Handler<AsyncResult<Connection>> completionHandler) {
@@ -75,10 +95,34 @@ public class SocketConnection implements Connection {
     schedule(new InitCommand(username, password, database, client.ssl, completionHandler));
   }
 
+  NetSocketInternal socket() {
+    return socket;
+  }
+
   public boolean isSsl() {
     return socket.isSsl();
   }
 
+  @Override
+  public int queueDepth() {
+    return inflight.size() + pending.size();
+  }
+
+  @Override
+  public long preparedStatementCacheHits() {
+    return psCache != null ? psCache.hits() : 0;
+  }
+
+  @Override
+  public long preparedStatementCacheMisses() {
+    return psCache != null ? psCache.misses() : 0;
+  }
+
+  @Override
+  public long preparedStatementCacheEvictions() {
+    return psCache != null ? psCache.evictions() : 0;
+  }
+
   void upgradeToSSL(Handler<Void> handler) {
     socket.upgradeToSsl(handler);
   }
@@ -89,16 +133,124 @@ public class SocketConnection implements Connection {
   }
 
   private boolean cork = false;
-  private ArrayDeque<OutboundMessage> outbound = new ArrayDeque<>();
+  private ByteBuf out;
+  private boolean flushScheduled;
+  private boolean pipelineHeld;
+  private boolean cancelling;
+  private int pauses;
+
+  /**
+   * @return the pooled buffer the executing command encodes its messages to
+   */
+  ByteBuf out() {
+    if (!cork) {
+      throw new IllegalStateException();
+    }
+    if (out == null) {
+      out = alloc().ioBuffer();
+    }
+    return out;
+  }
+
+  /**
+   * @return the allocator of the socket channel
+   */
+  ByteBufAllocator alloc() {
+    return socket.channelHandlerContext().alloc();
+  }
 
   void writeMessage(OutboundMessage cmd) {
     if (cork) {
-      outbound.add(cmd);
+      cmd.encode(out());
     } else {
+      // Preserve the order with the messages of the commands not yet flushed
+      flush();
       socket.writeMessage(cmd);
     }
   }
 
+  /**
+   * Write a buffer of encoded messages, the buffer is released once written.
+   */
+  void write(ByteBuf buf) {
+    if (cork) {
+      out().writeBytes(buf);
+      buf.release();
+    } else {
+      flush();
+      socket.writeMessage(buf);
+    }
+  }
+
+  /**
+   * Write the messages encoded by the commands with a single write and flush.
+   */
+  private void flush() {
+    if (out != null) {
+      ByteBuf buf = out;
+      out = null;
+      socket.writeMessage(buf);
+    }
+  }
+
+  /**
+   * Stop reading the socket for a command until {@link #resume(CommandBase)} is called. The socket is paused while
+   * the command is the head of the inflight commands, the messages received are for this command. A command
+   * pipelined behind other commands pauses the socket when it becomes the head.
+   */
+  void pause(CommandBase cmd) {
+    if (!cmd.socketPaused) {
+      cmd.socketPaused = true;
+      if (inflight.peek() == cmd) {
+        pauseSocket();
+      }
+    }
+  }
+
+  void resume(CommandBase cmd) {
+    if (cmd.socketPaused) {
+      cmd.socketPaused = false;
+      if (inflight.peek() == cmd) {
+        resumeSocket();
+      }
+    }
+  }
+
+  private void pauseSocket() {
+    if (pauses++ == 0) {
+      socket.pause();
+    }
+  }
+
+  private void resumeSocket() {
+    if (--pauses == 0) {
+      socket.resume();
+    }
+  }
+
+  /**
+   * Stop executing the pending commands until {@link #releasePipeline()} is called, so the executing command can
+   * keep on sending messages to the backend.
+   */
+  void holdPipeline() {
+    pipelineHeld = true;
+  }
+
+  void releasePipeline() {
+    if (pipelineHeld) {
+      pipelineHeld = false;
+      checkPending();
+    }
+  }
+
+  boolean writeQueueFull() {
+    return socket.writeQueueFull();
+  }
+
+  void drainHandler(Handler<Void> handler) {
+    socket.drainHandler(handler);
+  }
+
   @Override
   public void close(Holder holder) {
     if (Vertx.currentContext() == context) {
@@ -121,10 +273,34 @@ public class SocketConnection implements Connection {
     if (Vertx.currentContext() != context) {
       throw new IllegalStateException();
     }
-    if (status == Status.CONNECTED) {
+    // Set before checking the cancellation so a concurrent cancel sees either of them
+    cmd.connection = this;
+    if (cmd.cancelled) {
+      cmd.fail(new VertxException("Command cancelled"));
+      if (completionHandler != null) {
+        completionHandler.handle(null);
+      }
+    } else if (status == Status.CONNECTED) {
       pending.add(cmd);
       cmd.completionHandler = v -> {
-        inflight.poll();
+        // Usually the head of the queue, a command failing to execute is not in the queue anymore
+        boolean head = inflight.peek() == cmd;
+        inflight.remove(cmd);
+        if (head) {
+          // Don't leave the socket paused for the next commands
+          if (cmd.socketPaused) {
+            cmd.socketPaused = false;
+            resumeSocket();
+          }
+          CommandBase next = inflight.peek();
+          if (next != null && next.socketPaused) {
+            pauseSocket();
+          }
+        }
+        if (cmd.timerID != -1) {
+          client.vertx.cancelTimer(cmd.timerID);
+          cmd.timerID = -1;
+        }
         if (completionHandler != null) {
           completionHandler.handle(null);
         }
@@ -139,37 +315,137 @@ public class SocketConnection implements Connection {
   private void checkPending() {
     if (inflight.size() < pipeliningLimit) {
       CommandBase cmd;
-      while (inflight.size() < pipeliningLimit && (cmd = pending.poll()) != null) {
+      while (inflight.size() < pipeliningLimit && !pipelineHeld && !cancelling && (cmd = pending.poll()) != null) {
         cork = true;
         inflight.add(cmd);
-        cmd.exec(this);
-        switch (outbound.size()) {
-          case 0:
-            break;
-          case 1:
-            socket.writeMessage(outbound.poll());
-            break;
-          default:
-            OutboundMessage msg = out -> {
-              OutboundMessage msg1;
-              while ((msg1 = outbound.poll()) != null) {
-                msg1.encode(out);
-              }
-            };
-            socket.writeMessage(msg);
+        int mark = out != null ? out.writerIndex() : 0;
+        try {
+          cmd.exec(this);
+        } catch (Exception e) {
+          // Discard the partially encoded messages of the command
+          if (out != null) {
+            out.writerIndex(mark);
+          }
+          cork = false;
+          resume(cmd);
+          inflight.removeLast();
+          cmd.fail(e);
+          if (cmd.completionHandler != null) {
+            cmd.completionHandler.handle(null);
+          }
+          continue;
         }
         cork = false;
+        long timeout = cmd.timeout > 0 ? cmd.timeout : (cmd instanceof QueryCommandBase || cmd instanceof UpdateCommandBase ? queryTimeout : 0);
+        if (timeout > 0) {
+          CommandBase c = cmd;
+          cmd.timerID = client.vertx.setTimer(timeout, id -> {
+            c.timerID = -1;
+            cancel(c, ar -> {});
+          });
+        }
+      }
+      // The commands executed in this pass are written at once
+      if (writeCoalescing) {
+        // Defer the flush to the end of the event loop tick so the next passes share it
+        if (out != null && !flushScheduled) {
+          flushScheduled = true;
+          context.runOnContext(v -> {
+            flushScheduled = false;
+            flush();
+          });
+        }
+      } else {
+        flush();
       }
     }
   }
 
+  /**
+   * Pin the cached statement of an open portal so it is not evicted from the cache while the portal is open.
+   */
+  void bindPortal(String portal, PreparedStatement ps) {
+    if (portals.put(portal, ps) == null) {
+      ps.portals++;
+    }
+  }
+
+  /**
+   * Release the statement of a portal that is closed or completed.
+   */
+  void releasePortal(String portal) {
+    PreparedStatement ps = portals.remove(portal);
+    if (ps != null) {
+      ps.portals--;
+    }
+  }
+
+  /**
+   * Cancel the execution of a command: a command not yet sent is failed, the only command executing is cancelled
+   * with a cancel request. The backend cancels whatever it executes when it receives the request, so the next
+   * commands are not sent until the request is processed. A command pipelined with other commands is failed
+   * and its response is discarded, the backend executes it until completion.
+   * <p>
+   * The cancellation is best effort, the backend may have completed the command when it receives the request.
+   */
+  void cancel(CommandBase cmd, Handler<AsyncResult<Void>> handler) {
+    if (Vertx.currentContext() != context) {
+      context.runOnContext(v -> cancel(cmd, handler));
+      return;
+    }
+    if (pending.remove(cmd)) {
+      cmd.fail(new VertxException("Command cancelled"));
+      cmd.completionHandler.handle(null);
+      handler.handle(Future.succeededFuture());
+    } else if (cmd.discarded || !inflight.contains(cmd)) {
+      // Already completed
+      handler.handle(Future.succeededFuture());
+    } else if (inflight.size() == 1 && !cancelling) {
+      cancelling = true;
+      cancelRequest(ar -> {
+        cancelling = false;
+        handler.handle(ar);
+        checkPending();
+      });
+    } else {
+      // A cancel request could cancel another command, possibly of another user of the connection
+      cmd.discarded = true;
+      resume(cmd);
+      cmd.fail(new VertxException("Command cancelled"));
+      handler.handle(Future.succeededFuture());
+    }
+  }
+
+  @Override
+  public void cancelRequest(Handler<AsyncResult<Void>> handler) {
+    SocketAddress address = socket.remoteAddress();
+    client.cancelRequest(address.host(), address.port(), processId, secretKey, handler);
+  }
+
   private void handleMessage(Object msg) {
     InboundMessage pgMsg = (InboundMessage) msg;
+    if (pgMsg.getClass() == NotificationResponse.class) {
+      // Notifications are sent asynchronously, between the commands or in the middle of a command
+      NotificationResponse notification = (NotificationResponse) pgMsg;
+      if (holder != null) {
+        holder.handleNotification(notification.getProcessId(), notification.getChannel(), notification.getPayload());
+      }
+      return;
+    }
     CommandBase cmd = inflight.peek();
     if (cmd != null) {
-      cmd.handleMessage(pgMsg);
+      if (cmd.discarded) {
+        cmd.discard(pgMsg);
+      } else {
+        cmd.handleMessage(pgMsg);
+      }
     } else {
       System.out.println("Uh oh, no inflight command for " + msg);
+      if (msg instanceof DataRow) {
+        ((DataRow) msg).getBuffer().release();
+      } else if (msg instanceof CopyData) {
+        ((CopyData) msg).getBuffer().release();
+      }
     }
   }
 
@@ -188,6 +464,10 @@ public class SocketConnection implements Connection {
   private void handleClose(Throwable t) {
     if (status != Status.CLOSED) {
       status = Status.CLOSED;
+      if (out != null) {
+        out.release();
+        out = null;
+      }
       if (t != null) {
         synchronized (this) {
           if (holder != null) {
@@ -200,7 +480,13 @@ public class SocketConnection implements Connection {
         CommandBase cmd;
         while ((cmd = q.poll()) != null) {
           CommandBase c = cmd;
-          context.runOnContext(v -> c.fail(cause));
+          if (c.timerID != -1) {
+            client.vertx.cancelTimer(c.timerID);
+            c.timerID = -1;
+          }
+          if (!c.discarded) {
+            context.runOnContext(v -> c.fail(cause));
+          }
         }
       }
       if (holder != null) {
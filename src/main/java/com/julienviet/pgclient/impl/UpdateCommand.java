@@ -39,7 +39,7 @@ class UpdateCommand extends UpdateCommandBase {
 
   @Override
   void exec(SocketConnection conn) {
-    conn.writeMessage(new Query(sql));
+    Query.encode(sql, conn.out());
   }
 
   @Override
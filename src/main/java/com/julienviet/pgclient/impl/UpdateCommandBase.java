@@ -22,6 +22,7 @@ import com.julienviet.pgclient.UpdateResult;
 import com.julienviet.pgclient.codec.decoder.InboundMessage;
 import com.julienviet.pgclient.codec.decoder.message.CommandComplete;
 import com.julienviet.pgclient.codec.decoder.message.ErrorResponse;
+import com.julienviet.pgclient.codec.decoder.message.RowDescription;
 
 /**
  * @author <a href="mailto:emad.albloushi@gmail.com">Emad Alblueshi</a>
@@ -38,6 +39,7 @@ abstract class UpdateCommandBase extends CommandBase {
       updateResult = new UpdateResult();
       updateResult.setUpdated(complete.getRowsAffected());
       handleResult(updateResult);
+    } else if (msg.getClass() == RowDescription.class) {
     } else if (msg.getClass() == ErrorResponse.class) {
       ErrorResponse error = (ErrorResponse) msg;
       fail(new PgException(error));
@@ -17,14 +17,21 @@
 
 package com.julienviet.pgclient.impl.provider;
 
+import com.julienviet.pgclient.PgPoolBusyException;
+import com.julienviet.pgclient.PgPoolOptions;
 import com.julienviet.pgclient.impl.Connection;
 import io.vertx.core.*;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
@@ -32,25 +39,136 @@ import java.util.function.Consumer;
 public class ConnectionPoolProvider implements ConnectionProvider {
 
   private final Consumer<Handler<AsyncResult<Connection>>> connector;
+  private final BiConsumer<Connection, Handler<AsyncResult<Void>>> validator;
+  private final LongSupplier clock;
   private final int maxSize;
-  private final ArrayDeque<Future<Connection>> waiters = new ArrayDeque<>();
+  private final int minIdle;
+  private final int maxWaitQueueSize;
+  private final long idleTimeout;
+  private final long maxLifetime;
+  private final boolean validateOnBorrow;
+  private final long validationInterval;
+  private final ArrayDeque<Handler<AsyncResult<Connection>>> waiters = new ArrayDeque<>();
   private final Set<PooledConnection> all = new HashSet<>();
   private final ArrayDeque<PooledConnection> available = new ArrayDeque<>();
+  private final ArrayDeque<Future<Void>> warmUpWaiters = new ArrayDeque<>();
   private int size;
+  private int replenishing;
+  private Throwable replenishFailure;
+  private boolean closed;
 
   public ConnectionPoolProvider(Consumer<Handler<AsyncResult<Connection>>> connector, int maxSize) {
-    this.maxSize = maxSize;
+    this(connector, new PgPoolOptions().setMaxSize(maxSize));
+  }
+
+  public ConnectionPoolProvider(Consumer<Handler<AsyncResult<Connection>>> connector, PgPoolOptions options) {
+    this(connector, null, options, System::currentTimeMillis);
+  }
+
+  /**
+   * @param connector the connector opening the connections
+   * @param validator the validator checking a connection is usable or {@code null}
+   * @param options the pool options
+   * @param clock the clock in milliseconds
+   */
+  public ConnectionPoolProvider(Consumer<Handler<AsyncResult<Connection>>> connector,
+                                BiConsumer<Connection, Handler<AsyncResult<Void>>> validator,
+                                PgPoolOptions options,
+                                LongSupplier clock) {
+    this.maxSize = options.getMaxSize();
+    this.minIdle = options.getMinIdle();
+    this.maxWaitQueueSize = options.getMaxWaitQueueSize();
+    this.idleTimeout = options.getIdleTimeout();
+    this.maxLifetime = options.getMaxLifetime();
+    this.validateOnBorrow = validator != null && options.getValidateOnBorrow();
+    this.validationInterval = validator != null ? options.getValidationInterval() : 0;
     this.connector = connector;
+    this.validator = validator;
+    this.clock = clock;
   }
 
   @Override
   public void acquire(Handler<AsyncResult<Connection>> holder) {
-    waiters.add(Future.<Connection>future().setHandler(holder));
+    // The waiters are bounded only when no connection can be opened for them
+    if (maxWaitQueueSize >= 0 && available.isEmpty() && size >= maxSize && waiters.size() >= maxWaitQueueSize) {
+      holder.handle(Future.failedFuture(new PgPoolBusyException("Connection pool reached max wait queue size of " + maxWaitQueueSize)));
+      return;
+    }
+    waiters.add(holder);
     check();
   }
 
+  @Override
+  public boolean cancel(Handler<AsyncResult<Connection>> holder) {
+    return waiters.remove(holder);
+  }
+
+  @Override
+  public void warmUp(Handler<AsyncResult<Void>> completionHandler) {
+    replenish(Math.max(minIdle, 1));
+    if (replenishing > 0) {
+      warmUpWaiters.add(Future.<Void>future().setHandler(completionHandler));
+    } else {
+      completionHandler.handle(Future.succeededFuture());
+    }
+  }
+
+  @Override
+  public int waitQueueSize() {
+    return waiters.size();
+  }
+
+  @Override
+  public List<Integer> queueDepths() {
+    List<Integer> depths = new ArrayList<>(all.size());
+    for (PooledConnection pooled : all) {
+      depths.add(pooled.queueDepth());
+    }
+    return depths;
+  }
+
+  @Override
+  public List<Connection> connections() {
+    return new ArrayList<>(all);
+  }
+
+  @Override
+  public void evict() {
+    long now = clock.getAsLong();
+    List<PooledConnection> evicted = new ArrayList<>();
+    List<PooledConnection> validated = new ArrayList<>();
+    int idle = available.size();
+    for (Iterator<PooledConnection> it = available.iterator();it.hasNext();) {
+      PooledConnection pooled = it.next();
+      if (pooled.isExpired(now)) {
+        it.remove();
+        evicted.add(pooled);
+      } else if (idleTimeout > 0 && now - pooled.idleSince >= idleTimeout && idle > minIdle) {
+        it.remove();
+        evicted.add(pooled);
+        idle--;
+      } else if (validationInterval > 0 && now - pooled.validatedAt >= validationInterval) {
+        // Not lent while it is validated
+        it.remove();
+        validated.add(pooled);
+      }
+    }
+    for (PooledConnection pooled : evicted) {
+      pooled.close();
+    }
+    for (PooledConnection pooled : validated) {
+      validate(pooled, ar -> {
+        if (ar.succeeded()) {
+          available.add(pooled);
+          check();
+        }
+      });
+    }
+  }
+
   @Override
   public void close() {
+    closed = true;
     for (PooledConnection pooled : new ArrayList<>(all)) {
       pooled.close();
     }
@@ -59,9 +177,26 @@ public class ConnectionPoolProvider implements ConnectionProvider {
   class PooledConnection extends ConnectionProxy {
 
     private Holder holder;
+    private final long expiresAt;
+    private long idleSince;
+    private long validatedAt;
+    private boolean released;
 
     PooledConnection(Connection conn) {
       super(conn);
+      long now = clock.getAsLong();
+      if (maxLifetime > 0) {
+        // Spread the recycling of the connections created together over the last tenth of their lifetime
+        expiresAt = now + maxLifetime - ThreadLocalRandom.current().nextLong(maxLifetime / 10 + 1);
+      } else {
+        expiresAt = Long.MAX_VALUE;
+      }
+      idleSince = now;
+      validatedAt = now;
+    }
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
     }
 
     @Override
@@ -78,21 +213,30 @@ public class ConnectionPoolProvider implements ConnectionProvider {
         throw new IllegalStateException();
       }
       this.holder = null;
-      available.add(this);
-      check();
+      long now = clock.getAsLong();
+      if (isExpired(now)) {
+        close();
+      } else {
+        idleSince = now;
+        released = true;
+        available.add(this);
+        check();
+      }
     }
 
     @Override
     public void handleClosed() {
       if (all.remove(this)) {
         size--;
-        if (holder != null) {
+        if (holder == null) {
+          // An idle connection must not be lent anymore
           available.remove(this);
         }
         if (holder != null) {
           holder.handleClosed();
         }
         check();
+        replenish(minIdle);
       } else {
         throw new IllegalStateException();
       }
@@ -106,20 +250,51 @@ public class ConnectionPoolProvider implements ConnectionProvider {
     }
   }
 
+  /**
+   * Validate a connection that is neither available nor lent, an invalid connection is closed.
+   */
+  private void validate(PooledConnection pooled, Handler<AsyncResult<Void>> handler) {
+    validator.accept(pooled, ar -> {
+      if (ar.succeeded()) {
+        pooled.validatedAt = clock.getAsLong();
+        pooled.released = false;
+      } else {
+        pooled.close();
+      }
+      handler.handle(ar);
+    });
+  }
+
   private void doAcq(Handler<AsyncResult<PooledConnection>> handler) {
-    if (available.size() > 0) {
-      PooledConnection proxy = available.poll();
-      handler.handle(Future.succeededFuture(proxy));
+    PooledConnection proxy;
+    while ((proxy = available.poll()) != null && proxy.isExpired(clock.getAsLong())) {
+      proxy.close();
+    }
+    if (proxy != null) {
+      if (validateOnBorrow && proxy.released) {
+        // Only a connection used since it was opened or validated is validated
+        PooledConnection pooled = proxy;
+        validate(pooled, ar -> {
+          if (ar.succeeded()) {
+            handler.handle(Future.succeededFuture(pooled));
+          } else {
+            doAcq(handler);
+          }
+        });
+      } else {
+        handler.handle(Future.succeededFuture(proxy));
+      }
+      replenish(minIdle);
     } else {
       if (size < maxSize) {
         size++;
         connector.accept(ar -> {
           if (ar.succeeded()) {
             Connection conn = ar.result();
-            PooledConnection proxy = new PooledConnection(conn);
-            all.add(proxy);
-            available.add(proxy);
-            conn.init(proxy);
+            PooledConnection pooled = new PooledConnection(conn);
+            all.add(pooled);
+            available.add(pooled);
+            conn.init(pooled);
             doAcq(handler);
           } else {
             handler.handle(Future.failedFuture(ar.cause()));
@@ -129,17 +304,63 @@ public class ConnectionPoolProvider implements ConnectionProvider {
     }
   }
 
+  /**
+   * Open connections in the background until {@code idle} connections are available.
+   *
+   * @param idle the number of idle connections
+   */
+  private void replenish(int idle) {
+    while (!closed && size < maxSize && available.size() + replenishing < idle) {
+      size++;
+      replenishing++;
+      connector.accept(ar -> {
+        replenishing--;
+        if (ar.succeeded()) {
+          Connection conn = ar.result();
+          PooledConnection proxy = new PooledConnection(conn);
+          all.add(proxy);
+          available.add(proxy);
+          conn.init(proxy);
+          if (closed) {
+            proxy.close();
+          }
+        } else {
+          size--;
+          replenishFailure = ar.cause();
+        }
+        if (replenishing == 0) {
+          Throwable failure = replenishFailure;
+          replenishFailure = null;
+          Future<Void> waiter;
+          while ((waiter = warmUpWaiters.poll()) != null) {
+            if (failure == null) {
+              waiter.complete();
+            } else {
+              waiter.fail(failure);
+            }
+          }
+        }
+        check();
+      });
+    }
+  }
+
   private void check() {
     if (waiters.size() > 0) {
       doAcq(ar -> {
         if (ar.succeeded()) {
           PooledConnection proxy = ar.result();
-          Future<Connection> waiter = waiters.poll();
-          waiter.complete(proxy);
+          Handler<AsyncResult<Connection>> waiter = waiters.poll();
+          if (waiter != null) {
+            waiter.handle(Future.succeededFuture(proxy));
+          } else {
+            // The waiter was cancelled while connecting
+            available.add(proxy);
+          }
         } else {
-          Future<Connection> waiter;
+          Handler<AsyncResult<Connection>> waiter;
           while ((waiter = waiters.poll()) != null) {
-            waiter.fail(ar.cause());
+            waiter.handle(Future.failedFuture(ar.cause()));
           }
         }
       });
@@ -21,6 +21,8 @@ import com.julienviet.pgclient.impl.Connection;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
+import java.util.List;
+
 /**
  * A connection provider.
  */
@@ -33,6 +35,41 @@ public interface ConnectionProvider {
    */
   void acquire(Handler<AsyncResult<Connection>> holder);
 
+  /**
+   * Cancel the acquisition of a connection.
+   *
+   * @param holder the waiter for the connection
+   * @return true when the waiter was still waiting and will not be notified
+   */
+  boolean cancel(Handler<AsyncResult<Connection>> holder);
+
+  /**
+   * Open the connections the provider keeps ready.
+   *
+   * @param completionHandler the handler notified when the connections are open
+   */
+  void warmUp(Handler<AsyncResult<Void>> completionHandler);
+
+  /**
+   * Close the idle connections that expired or are not valid anymore, this is called periodically.
+   */
+  void evict();
+
+  /**
+   * @return the number of waiters for a connection
+   */
+  int waitQueueSize();
+
+  /**
+   * @return the number of commands executing or waiting to be executed on each connection
+   */
+  List<Integer> queueDepths();
+
+  /**
+   * @return the open connections
+   */
+  List<Connection> connections();
+
   /**
    * Close the connection provider.
    */
@@ -19,6 +19,7 @@ package com.julienviet.pgclient.impl.provider;
 
 import com.julienviet.pgclient.impl.CommandBase;
 import com.julienviet.pgclient.impl.Connection;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
 abstract class ConnectionProxy implements Connection, Connection.Holder {
@@ -39,11 +40,36 @@ abstract class ConnectionProxy implements Connection, Connection.Holder {
     return conn.isSsl();
   }
 
+  @Override
+  public int queueDepth() {
+    return conn.queueDepth();
+  }
+
+  @Override
+  public long preparedStatementCacheHits() {
+    return conn.preparedStatementCacheHits();
+  }
+
+  @Override
+  public long preparedStatementCacheMisses() {
+    return conn.preparedStatementCacheMisses();
+  }
+
+  @Override
+  public long preparedStatementCacheEvictions() {
+    return conn.preparedStatementCacheEvictions();
+  }
+
   @Override
   public void schedule(CommandBase cmd, Handler<Void> completionHandler) {
     conn.schedule(cmd, completionHandler);
   }
 
+  @Override
+  public void cancelRequest(Handler<AsyncResult<Void>> handler) {
+    conn.cancelRequest(handler);
+  }
+
   /**
    * Close the underlying connection
    */
@@ -17,6 +17,7 @@
 
 package com.julienviet.pgclient.impl.provider;
 
+import com.julienviet.pgclient.PgPoolBusyException;
 import com.julienviet.pgclient.impl.Connection;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
@@ -25,89 +26,194 @@ import io.vertx.core.Handler;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 
 /**
+ * Shares up to {@code maxSize} connections between the holders, a holder gets the least loaded connection. Another
+ * connection is opened when all the connections are busy, holders wait when all the connections reached
+ * {@code maxDepth}, at most {@code maxWaitQueueSize} holders wait when no connection can be opened.
+ *
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 public class SharedConnectionProvider implements ConnectionProvider {
 
-  private final Set<Connection.Holder> holders = new HashSet<>();
-  private ConnectionProxy shared;
-  private boolean connecting;
-  private ArrayDeque<Future<Connection>> waiters = new ArrayDeque<>();
+  private final List<SharedConnection> connections = new ArrayList<>();
+  private final int maxSize;
+  private final int maxDepth;
+  private final int maxWaitQueueSize;
+  private int connecting;
+  private ArrayDeque<Handler<AsyncResult<Connection>>> waiters = new ArrayDeque<>();
   private Consumer<Handler<AsyncResult<Connection>>> connector;
 
   public SharedConnectionProvider(Consumer<Handler<AsyncResult<Connection>>> connector) {
+    this(connector, 1, Integer.MAX_VALUE);
+  }
+
+  public SharedConnectionProvider(Consumer<Handler<AsyncResult<Connection>>> connector, int maxSize) {
+    this(connector, maxSize, Integer.MAX_VALUE);
+  }
+
+  public SharedConnectionProvider(Consumer<Handler<AsyncResult<Connection>>> connector, int maxSize, int maxDepth) {
+    this(connector, maxSize, maxDepth, -1);
+  }
+
+  public SharedConnectionProvider(Consumer<Handler<AsyncResult<Connection>>> connector, int maxSize, int maxDepth, int maxWaitQueueSize) {
     this.connector = connector;
+    this.maxSize = maxSize;
+    this.maxDepth = maxDepth;
+    this.maxWaitQueueSize = maxWaitQueueSize;
   }
 
   @Override
   public void close() {
-    if (shared != null) {
+    for (SharedConnection shared : new ArrayList<>(connections)) {
       shared.close();
     }
   }
 
+  @Override
+  public void warmUp(Handler<AsyncResult<Void>> completionHandler) {
+    acquire(ar -> completionHandler.handle(ar.map((Void) null)));
+  }
+
+  @Override
+  public void evict() {
+  }
+
+  @Override
+  public boolean cancel(Handler<AsyncResult<Connection>> waiter) {
+    return waiters.remove(waiter);
+  }
+
+  @Override
+  public int waitQueueSize() {
+    return waiters.size();
+  }
+
+  @Override
+  public List<Integer> queueDepths() {
+    List<Integer> depths = new ArrayList<>(connections.size());
+    for (SharedConnection shared : connections) {
+      depths.add(shared.queueDepth());
+    }
+    return depths;
+  }
+
+  @Override
+  public List<Connection> connections() {
+    return new ArrayList<>(connections);
+  }
+
   @Override
   public void acquire(Handler<AsyncResult<Connection>> waiter) {
-    Future<Connection> fut = Future.<Connection>future().setHandler(waiter);
-    if (shared != null) {
-      fut.complete(shared);
+    SharedConnection shared = leastLoaded();
+    if (shared == null || shared.queueDepth() > 0) {
+      // All the connections are busy
+      connect();
+    }
+    if (shared != null && waiters.isEmpty() && shared.queueDepth() < maxDepth) {
+      waiter.handle(Future.succeededFuture(shared));
+    } else if (maxWaitQueueSize >= 0 && connections.size() + connecting >= maxSize && waiters.size() >= maxWaitQueueSize) {
+      waiter.handle(Future.failedFuture(new PgPoolBusyException("Connection pool reached max wait queue size of " + maxWaitQueueSize)));
     } else {
-      waiters.add(fut);
-      if (!connecting) {
-        connecting = true;
-        connector.accept(ar -> {
-          connecting = false;
-          if (ar.succeeded()) {
-            Connection conn = ar.result();
-            shared = new ConnectionProxy(conn) {
-              @Override
-              public void init(Holder holder) {
-                if (holders.contains(holder)) {
-                  throw new IllegalStateException();
-                }
-                holders.add(holder);
-              }
-              @Override
-              public void close(Holder holder) {
-                if (!holders.remove(holder)) {
-                  throw new IllegalStateException();
-                }
-              }
-              @Override
-              public void handleClosed() {
-                if (shared == null) {
-                  throw new IllegalStateException();
-                }
-                shared = null;
-                ArrayList<Holder> copy = new ArrayList<>(holders);
-                holders.clear();
-                for (Holder holder : copy) {
-                  holder.handleClosed();
-                }
-              }
-              @Override
-              public void handleException(Throwable err) {
-                for (Holder holder : new ArrayList<>(holders)) {
-                  holder.handleException(err);
-                }
-              }
-            };
-            conn.init(shared);
-            Future<Connection> waiter_;
-            while ((waiter_ = waiters.poll()) != null) {
-              waiter_.complete(shared);
-            }
-          } else {
-            Future<Connection> waiter_;
-            while ((waiter_ = waiters.poll()) != null) {
-              waiter_.fail(ar.cause());
-            }
-          }
-        });
+      waiters.add(waiter);
+    }
+  }
+
+  /**
+   * Hand the least loaded connections to the waiters.
+   */
+  private void dispatch() {
+    Handler<AsyncResult<Connection>> waiter;
+    SharedConnection shared;
+    while (waiters.size() > 0 && (shared = leastLoaded()) != null && shared.queueDepth() < maxDepth) {
+      waiter = waiters.poll();
+      waiter.handle(Future.succeededFuture(shared));
+    }
+  }
+
+  private SharedConnection leastLoaded() {
+    SharedConnection leastLoaded = null;
+    int min = Integer.MAX_VALUE;
+    for (SharedConnection shared : connections) {
+      int depth = shared.queueDepth();
+      if (depth < min) {
+        leastLoaded = shared;
+        min = depth;
+      }
+    }
+    return leastLoaded;
+  }
+
+  private void connect() {
+    if (connections.size() + connecting >= maxSize || (connections.isEmpty() && connecting > 0)) {
+      return;
+    }
+    connecting++;
+    connector.accept(ar -> {
+      connecting--;
+      if (ar.succeeded()) {
+        Connection conn = ar.result();
+        SharedConnection shared = new SharedConnection(conn);
+        connections.add(shared);
+        conn.init(shared);
+        dispatch();
+      } else if (connections.isEmpty()) {
+        Handler<AsyncResult<Connection>> waiter_;
+        while ((waiter_ = waiters.poll()) != null) {
+          waiter_.handle(Future.failedFuture(ar.cause()));
+        }
+      }
+    });
+  }
+
+  private class SharedConnection extends ConnectionProxy {
+
+    private final Set<Holder> holders = new HashSet<>();
+
+    SharedConnection(Connection conn) {
+      super(conn);
+    }
+
+    @Override
+    public void init(Holder holder) {
+      if (holders.contains(holder)) {
+        throw new IllegalStateException();
+      }
+      holders.add(holder);
+    }
+
+    @Override
+    public void close(Holder holder) {
+      if (!holders.remove(holder)) {
+        throw new IllegalStateException();
+      }
+      dispatch();
+    }
+
+    @Override
+    public void handleClosed() {
+      if (!connections.remove(this)) {
+        throw new IllegalStateException();
+      }
+      ArrayList<Holder> copy = new ArrayList<>(holders);
+      holders.clear();
+      for (Holder holder : copy) {
+        holder.handleClosed();
+      }
+      // Replace the closed connection for the waiters
+      if (!waiters.isEmpty()) {
+        connect();
+      }
+      dispatch();
+    }
+
+    @Override
+    public void handleException(Throwable err) {
+      for (Holder holder : new ArrayList<>(holders)) {
+        holder.handleException(err);
       }
     }
   }
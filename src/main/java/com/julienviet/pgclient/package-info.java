@@ -65,6 +65,52 @@
  * {@link examples.Examples#ex3}
  * ----
  *
+ * A pool uses the event loop it was created on. When the pool is used from several event loops, e.g. by several
+ * verticle instances, {@link com.julienviet.pgclient.PgPoolOptions#setPerEventLoop(boolean)} keeps a sub pool
+ * per event loop instead, so the commands execute on the connections of their own event loop.
+ *
+ * A pool opens its connections lazily. {@link com.julienviet.pgclient.PgPoolOptions#setMinIdle(int)} keeps idle
+ * connections open: they are opened when the pool is created and replaced when they are borrowed or closed.
+ * {@link com.julienviet.pgclient.PgPool#warmUp} notifies when they are open.
+ *
+ * When all the connections are busy, the commands wait for a connection. The wait can be bounded with
+ * {@link com.julienviet.pgclient.PgPoolOptions#setMaxWaitQueueSize(int)} and
+ * {@link com.julienviet.pgclient.PgPoolOptions#setAcquireTimeout(long)}, the commands are then failed with a
+ * {@link com.julienviet.pgclient.PgPoolBusyException}.
+ *
+ * The pool can recycle its connections: {@link com.julienviet.pgclient.PgPoolOptions#setIdleTimeout(long)} closes
+ * the connections idle for too long and {@link com.julienviet.pgclient.PgPoolOptions#setMaxLifetime(long)} closes
+ * the connections open for too long. The connections can also be validated before they are borrowed or periodically
+ * in the background.
+ *
+ * With {@link com.julienviet.pgclient.PoolingMode#PIPELINED} the commands are dispatched to the least loaded
+ * connection as long as it has less than {@link com.julienviet.pgclient.PgClientOptions#getPipeliningLimit()}
+ * queued commands, otherwise they wait in the pool. {@link com.julienviet.pgclient.PgPool#metrics} reports the
+ * size of the pool wait queue, the queue depth of each connection and the hits, misses and evictions of the
+ * prepared statement caches of the connections.
+ *
+ * A pool can cache the results of its prepared queries with {@link com.julienviet.pgclient.PgPoolOptions#setResultCacheMaxSize(int)}
+ * and {@link com.julienviet.pgclient.PgPoolOptions#setResultCacheTtl(long)}. The concurrent executions of a query that
+ * is not cached share the same result. {@link com.julienviet.pgclient.PgPool#invalidate(java.lang.String)} and
+ * {@link com.julienviet.pgclient.PgPool#invalidateAll()} discard the cached results when the data changes, the queries
+ * executed after an invalidation do not reuse an execution started before. Each caller gets its own copy of a shared
+ * result. {@link com.julienviet.pgclient.PgPoolOptions#setCoalesceQueries(boolean)} only shares the result of the
+ * concurrent executions without caching it.
+ *
+ * The client can use the servers of a primary/standby cluster with {@link com.julienviet.pgclient.PgClientOptions#setHosts}.
+ * The role of a server is checked with {@code pg_is_in_recovery()} and {@code transaction_read_only} when connecting,
+ * a server in recovery or with read only sessions is a standby server. The connections are opened to the primary server, the unreachable servers are skipped so the client fails over to the server promoted as primary.
+ * {@link com.julienviet.pgclient.PgPoolOptions#setReadRouting(boolean)} routes the pool queries to the standby
+ * servers and keeps the updates on the primary server.
+ *
+ * A query can be cancelled with {@link com.julienviet.pgclient.PgQuery#cancel} and the command executing on a
+ * connection with {@link com.julienviet.pgclient.PgConnection#cancelRequest}, the server is sent a cancel request
+ * on a separate connection and the query fails. {@link com.julienviet.pgclient.PgClientOptions#setQueryTimeout(long)}
+ * and {@link com.julienviet.pgclient.PgQuery#timeout(long)} cancel the queries running for too long, so they don't
+ * hold the pooled connections. A cancel request interrupts whatever the server executes, so only a query executing
+ * alone on its connection is cancelled this way, a query pipelined with other commands is failed and the server
+ * executes it until completion.
+ *
  * == Prepared statements
  *
  * Prepared statements can be created and managed by the application.
@@ -92,6 +138,9 @@
  * {@link examples.Examples#ex6}
  * ----
  *
+ * Instead of a fixed fetch size, {@link com.julienviet.pgclient.PgQuery#adaptiveFetch} adapts the fetch size of each
+ * round trip to fetch approximately a given amount of bytes, according to the size of the rows already received.
+ *
  * When a query is not completed you can call {@link com.julienviet.pgclient.PgQuery#close()} to release
  * the query result in progress:
  *
@@ -100,6 +149,24 @@
  * {@link examples.Examples#ex7}
  * ----
  *
+ * Large results can be streamed row by row with a {@link com.julienviet.pgclient.PgQuery#rowHandler}, the rows
+ * are then decoded on demand and never accumulated in memory:
+ *
+ * [source,$lang]
+ * ----
+ * {@link examples.Examples#ex11}
+ * ----
+ *
+ * NOTE: the {@link com.julienviet.pgclient.Row} is a cursor reused for each row, it must not be used after the callback
+ *
+ * A row needed after the callback can be retained, it still decodes its columns lazily from the received bytes and
+ * must be released when it is not needed anymore:
+ *
+ * [source,$lang]
+ * ----
+ * {@link examples.Examples#ex12}
+ * ----
+ *
  * Prepared statements can also be used for update operations
  *
  * [source,$lang]
@@ -115,6 +182,48 @@
  * {@link examples.Examples#ex9}
  * ----
  *
+ * A batch of single row inserts can be rewritten into multi row {@code VALUES} statements with
+ * {@link com.julienviet.pgclient.PgBatch#rewriteInserts(int)}, the rows are then sent in chunks
+ * instead of one statement per row.
+ *
+ * == Bulk loading
+ *
+ * A {@code COPY FROM STDIN} command loads rows much faster than a batch, the data is written to a
+ * {@link com.julienviet.pgclient.PgCopyIn} stream:
+ *
+ * [source,$lang]
+ * ----
+ * {@link examples.Examples#ex13}
+ * ----
+ *
+ * The stream can also write buffers already encoded in the copy format. It is a {@code WriteStream} so it can
+ * be pumped from a file and it takes the back-pressure of the connection into account.
+ *
+ * NOTE: the connection executes no other command until the stream is ended
+ *
+ * Conversely a {@code COPY TO STDOUT} command exports a table as a {@link com.julienviet.pgclient.PgCopyOut} stream
+ * of the bytes sent by the server, they are relayed without being decoded into rows:
+ *
+ * [source,$lang]
+ * ----
+ * {@link examples.Examples#ex14}
+ * ----
+ *
+ * == Notifications
+ *
+ * A {@link com.julienviet.pgclient.PgSubscriber} receives the notifications of {@code LISTEN}/{@code NOTIFY} channels
+ * over a single connection, each {@link com.julienviet.pgclient.PgChannel} is a stream of the notification payloads
+ * of a channel:
+ *
+ * [source,$lang]
+ * ----
+ * {@link examples.Examples#ex15}
+ * ----
+ *
+ * The subscriptions changed together are sent with a single query. When the connection is lost, the subscriber
+ * reconnects according to its {@link com.julienviet.pgclient.PgSubscriber#reconnectPolicy reconnect policy}
+ * and subscribes again to its channels.
+ *
  * == Using SSL/TLS
  *
  * To configure the client to use SSL connection, you can configure the {@link com.julienviet.pgclient.PgClient}
@@ -19,9 +19,14 @@ package examples;
 
 import com.julienviet.pgclient.*;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.net.PemTrustOptions;
+import io.vertx.core.streams.Pump;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.docgen.Source;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -170,6 +175,42 @@ public class Examples {
     });
   }
 
+  public void ex11(PgConnection conn) {
+    PgPreparedStatement preparedStatement = conn.prepare("SELECT id, name FROM USERS");
+
+    // Create a query : bind parameters
+    PgQuery query = preparedStatement.query()
+      .fetch(100); // Get at most 100 rows at a time
+
+    query.endHandler(v -> {
+      // We are done
+    }).exceptionHandler(err -> {
+      System.out.println("Query failed " + err);
+    }).rowHandler(row -> {
+      // Process each row
+      Integer id = row.getInteger(0);
+      String name = row.getString(1);
+    });
+  }
+
+  public void ex12(PgConnection conn) {
+    PgPreparedStatement preparedStatement = conn.prepare("SELECT id, name, profile FROM USERS");
+
+    List<Row> rows = new ArrayList<>();
+    preparedStatement.query().endHandler(v -> {
+      for (Row row : rows) {
+        // Only the name column is decoded
+        String name = row.getString(1);
+
+        // Release the row
+        row.release();
+      }
+    }).rowHandler(row -> {
+      // Keep the row after the callback
+      rows.add(row.retain());
+    });
+  }
+
   public void ex8(PgConnection conn) {
 
     PgPreparedStatement preparedStatement = conn.prepare("UPDATE USERS SET name=$1 WHERE id=$2");
@@ -220,6 +261,49 @@ public class Examples {
     });
   }
 
+  public void ex13(PgConnection conn) {
+    PgCopyIn copyIn = conn.copyFrom("COPY USERS (id, name) FROM STDIN", res -> {
+      if (res.succeeded()) {
+        System.out.println("Copied " + res.result() + " rows");
+      } else {
+        System.out.println("Copy failed " + res.cause());
+      }
+    });
+
+    // Write the rows in the text format of the COPY command
+    copyIn.writeRow(Arrays.asList("julien", "Julien Viet"));
+    copyIn.writeRow(Arrays.asList("emad", "Emad Alblueshi"));
+
+    // End the stream to complete the copy
+    copyIn.end();
+  }
+
+  public void ex14(PgConnection conn, WriteStream<Buffer> file) {
+    PgCopyOut copyOut = conn.copyTo("COPY USERS TO STDOUT WITH (FORMAT csv)");
+
+    // Relay the copied data to the file
+    Pump pump = Pump.pump(copyOut, file);
+    copyOut.endHandler(v -> {
+      System.out.println("Copy done");
+    });
+    pump.start();
+  }
+
+  public void ex15(PgClient client, PgPool pool) {
+    PgSubscriber subscriber = PgSubscriber.subscriber(client);
+
+    // Invalidate the cached results when the table changes
+    subscriber.channel("fortune_changes").handler(payload -> {
+      pool.invalidate("SELECT id, message FROM Fortune WHERE id = $1");
+    });
+
+    subscriber.connect(ar -> {
+      if (ar.succeeded()) {
+        System.out.println("Subscriber connected");
+      }
+    });
+  }
+
   public void ex10(Vertx vertx) {
 
     PgClient client = PgClient.create(vertx, new PgClientOptions()
@@ -13,6 +13,7 @@ import io.vertx.core.net.ProxyOptions
  * A function providing a DSL for building [com.julienviet.pgclient.PgClientOptions] objects.
  *
  *
+ * @param binaryResultFormat 
  * @param cachePreparedStatements 
  * @param connectTimeout 
  * @param crlPaths 
@@ -22,6 +23,7 @@ import io.vertx.core.net.ProxyOptions
  * @param enabledSecureTransportProtocols 
  * @param host 
  * @param hostnameVerificationAlgorithm 
+ * @param hosts 
  * @param idleTimeout 
  * @param jdkSslEngineOptions 
  * @param keyStoreOptions 
@@ -36,7 +38,10 @@ import io.vertx.core.net.ProxyOptions
  * @param pfxTrustOptions 
  * @param pipeliningLimit 
  * @param port 
+ * @param preparedStatementCacheMaxBytes 
+ * @param preparedStatementCacheMaxSize 
  * @param proxyOptions 
+ * @param queryTimeout 
  * @param receiveBufferSize 
  * @param reconnectAttempts 
  * @param reconnectInterval 
@@ -52,11 +57,13 @@ import io.vertx.core.net.ProxyOptions
  * @param useAlpn 
  * @param usePooledBuffers 
  * @param username 
+ * @param writeCoalescing 
  *
  * <p/>
  * NOTE: This function has been automatically generated from the [com.julienviet.pgclient.PgClientOptions original] using Vert.x codegen.
  */
 fun PgClientOptions(
+  binaryResultFormat: Boolean? = null,
   cachePreparedStatements: Boolean? = null,
   connectTimeout: Int? = null,
   crlPaths: Iterable<String>? = null,
@@ -66,6 +73,7 @@ fun PgClientOptions(
   enabledSecureTransportProtocols: Iterable<String>? = null,
   host: String? = null,
   hostnameVerificationAlgorithm: String? = null,
+  hosts: Iterable<String>? = null,
   idleTimeout: Int? = null,
   jdkSslEngineOptions: io.vertx.core.net.JdkSSLEngineOptions? = null,
   keyStoreOptions: io.vertx.core.net.JksOptions? = null,
@@ -80,7 +88,10 @@ fun PgClientOptions(
   pfxTrustOptions: io.vertx.core.net.PfxOptions? = null,
   pipeliningLimit: Int? = null,
   port: Int? = null,
+  preparedStatementCacheMaxBytes: Long? = null,
+  preparedStatementCacheMaxSize: Int? = null,
   proxyOptions: io.vertx.core.net.ProxyOptions? = null,
+  queryTimeout: Long? = null,
   receiveBufferSize: Int? = null,
   reconnectAttempts: Int? = null,
   reconnectInterval: Long? = null,
@@ -95,8 +106,12 @@ fun PgClientOptions(
   trustStoreOptions: io.vertx.core.net.JksOptions? = null,
   useAlpn: Boolean? = null,
   usePooledBuffers: Boolean? = null,
-  username: String? = null): PgClientOptions = com.julienviet.pgclient.PgClientOptions().apply {
+  username: String? = null,
+  writeCoalescing: Boolean? = null): PgClientOptions = com.julienviet.pgclient.PgClientOptions().apply {
 
+  if (binaryResultFormat != null) {
+    this.setBinaryResultFormat(binaryResultFormat)
+  }
   if (cachePreparedStatements != null) {
     this.setCachePreparedStatements(cachePreparedStatements)
   }
@@ -132,6 +147,9 @@ fun PgClientOptions(
   if (hostnameVerificationAlgorithm != null) {
     this.setHostnameVerificationAlgorithm(hostnameVerificationAlgorithm)
   }
+  if (hosts != null) {
+    this.setHosts(hosts.toList())
+  }
   if (idleTimeout != null) {
     this.setIdleTimeout(idleTimeout)
   }
@@ -174,9 +192,18 @@ fun PgClientOptions(
   if (port != null) {
     this.setPort(port)
   }
+  if (preparedStatementCacheMaxBytes != null) {
+    this.setPreparedStatementCacheMaxBytes(preparedStatementCacheMaxBytes)
+  }
+  if (preparedStatementCacheMaxSize != null) {
+    this.setPreparedStatementCacheMaxSize(preparedStatementCacheMaxSize)
+  }
   if (proxyOptions != null) {
     this.setProxyOptions(proxyOptions)
   }
+  if (queryTimeout != null) {
+    this.setQueryTimeout(queryTimeout)
+  }
   if (receiveBufferSize != null) {
     this.setReceiveBufferSize(receiveBufferSize)
   }
@@ -222,5 +249,8 @@ fun PgClientOptions(
   if (username != null) {
     this.setUsername(username)
   }
+  if (writeCoalescing != null) {
+    this.setWriteCoalescing(writeCoalescing)
+  }
 }
 
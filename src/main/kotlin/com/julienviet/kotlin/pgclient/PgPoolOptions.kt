@@ -8,21 +8,81 @@ import com.julienviet.pgclient.PoolingMode
  *
  * The options for configuring a connection pool.
  *
+ * @param acquireTimeout 
+ * @param coalesceQueries 
+ * @param idleTimeout 
+ * @param maxLifetime 
  * @param maxSize 
+ * @param maxWaitQueueSize 
+ * @param minIdle 
  * @param mode 
+ * @param perEventLoop 
+ * @param readRouting 
+ * @param resultCacheMaxSize 
+ * @param resultCacheTtl 
+ * @param validateOnBorrow 
+ * @param validationInterval 
  *
  * <p/>
  * NOTE: This function has been automatically generated from the [com.julienviet.pgclient.PgPoolOptions original] using Vert.x codegen.
  */
 fun PgPoolOptions(
+  acquireTimeout: Long? = null,
+  coalesceQueries: Boolean? = null,
+  idleTimeout: Long? = null,
+  maxLifetime: Long? = null,
   maxSize: Int? = null,
-  mode: PoolingMode? = null): PgPoolOptions = com.julienviet.pgclient.PgPoolOptions().apply {
+  maxWaitQueueSize: Int? = null,
+  minIdle: Int? = null,
+  mode: PoolingMode? = null,
+  perEventLoop: Boolean? = null,
+  readRouting: Boolean? = null,
+  resultCacheMaxSize: Int? = null,
+  resultCacheTtl: Long? = null,
+  validateOnBorrow: Boolean? = null,
+  validationInterval: Long? = null): PgPoolOptions = com.julienviet.pgclient.PgPoolOptions().apply {
 
+  if (acquireTimeout != null) {
+    this.setAcquireTimeout(acquireTimeout)
+  }
+  if (coalesceQueries != null) {
+    this.setCoalesceQueries(coalesceQueries)
+  }
+  if (idleTimeout != null) {
+    this.setIdleTimeout(idleTimeout)
+  }
+  if (maxLifetime != null) {
+    this.setMaxLifetime(maxLifetime)
+  }
   if (maxSize != null) {
     this.setMaxSize(maxSize)
   }
+  if (maxWaitQueueSize != null) {
+    this.setMaxWaitQueueSize(maxWaitQueueSize)
+  }
+  if (minIdle != null) {
+    this.setMinIdle(minIdle)
+  }
   if (mode != null) {
     this.setMode(mode)
   }
+  if (perEventLoop != null) {
+    this.setPerEventLoop(perEventLoop)
+  }
+  if (readRouting != null) {
+    this.setReadRouting(readRouting)
+  }
+  if (resultCacheMaxSize != null) {
+    this.setResultCacheMaxSize(resultCacheMaxSize)
+  }
+  if (resultCacheTtl != null) {
+    this.setResultCacheTtl(resultCacheTtl)
+  }
+  if (validateOnBorrow != null) {
+    this.setValidateOnBorrow(validateOnBorrow)
+  }
+  if (validationInterval != null) {
+    this.setValidationInterval(validationInterval)
+  }
 }
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.core.Context;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+public class EventLoopPgPoolTest extends PgPoolTestBase {
+
+  @Override
+  protected PgPool createPool(PgClient client, int size) {
+    return client.createPool(new PgPoolOptions().setMaxSize(size).setPerEventLoop(true));
+  }
+
+  @Test
+  public void testEventLoopAffinity(TestContext ctx) {
+    int num = 4;
+    Async async = ctx.async(num * 10);
+    PgClient client = PgClient.create(vertx, options);
+    PgPool pool = createPool(client, 1);
+    for (int i = 0;i < num;i++) {
+      Context context = ((VertxInternal) vertx).createEventLoopContext(null, null, new JsonObject(), Thread.currentThread().getContextClassLoader());
+      context.runOnContext(v -> {
+        Thread thread = Thread.currentThread();
+        for (int j = 0;j < 10;j++) {
+          pool.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertSuccess(result -> {
+            // Executed on the connection of the event loop the query was scheduled from
+            ctx.assertEquals(thread, Thread.currentThread());
+            async.countDown();
+          }));
+        }
+      });
+    }
+  }
+}
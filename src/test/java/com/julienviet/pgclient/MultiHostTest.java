@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class MultiHostTest extends PgTestBase {
+
+  Vertx vertx;
+
+  @Before
+  public void setup() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void teardown(TestContext ctx) {
+    vertx.close(ctx.asyncAssertSuccess());
+  }
+
+  private PgClientOptions multiHostOptions() {
+    // Nothing listens on the first server
+    return new PgClientOptions(options).setHosts(Arrays.asList("localhost:8082", options.getHost() + ":" + options.getPort()));
+  }
+
+  @Test
+  public void testConnectFailover(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, multiHostOptions());
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertSuccess(result -> {
+        ctx.assertEquals(10000, result.getNumRows());
+        async.complete();
+      }));
+    }));
+  }
+
+  @Test
+  public void testNoServerAvailable(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setHosts(Arrays.asList("localhost:8082", "localhost:8083")));
+    client.connect(ctx.asyncAssertFailure(err -> {
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testPrimaryRejectsReadOnlyServer(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient admin = PgClient.create(vertx, options);
+    admin.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.query("DROP ROLE IF EXISTS readonly").execute(ctx.asyncAssertSuccess(v1 -> {
+        conn.query("CREATE ROLE readonly LOGIN PASSWORD 'readonly'").execute(ctx.asyncAssertSuccess(v2 -> {
+          // The sessions of the role are read only, like the sessions of a standby server
+          conn.query("ALTER ROLE readonly SET default_transaction_read_only = on").execute(ctx.asyncAssertSuccess(v3 -> {
+            conn.close();
+            PgClient client = PgClient.create(vertx, multiHostOptions().setUsername("readonly").setPassword("readonly"));
+            // None of the servers is a primary server for this role
+            client.connect(ctx.asyncAssertFailure(err -> async.complete()));
+          }));
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testReadRouting(TestContext ctx) {
+    Async async = ctx.async(2);
+    PgClient client = PgClient.create(vertx, multiHostOptions());
+    PgPool pool = client.createPool(new PgPoolOptions().setReadRouting(true));
+    // There is no standby server, the query executes on the primary server
+    pool.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertSuccess(result -> {
+      ctx.assertEquals(10000, result.getNumRows());
+      async.countDown();
+    }));
+    pool.update("UPDATE Fortune SET message = 'Whatever' WHERE id = 9", ctx.asyncAssertSuccess(result -> {
+      ctx.assertEquals(1, result.getUpdated());
+      async.countDown();
+    }));
+  }
+}
@@ -34,6 +34,8 @@ import org.junit.runner.RunWith;
 
 import javax.net.ssl.SSLHandshakeException;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -601,6 +603,280 @@ public abstract class PgConnectionTestBase extends PgTestBase {
     }));
   }
 
+  @Test
+  public void testBinaryParamFormat(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("SET TIME ZONE 'UTC'").execute(ctx.asyncAssertSuccess(v -> {
+        PgPreparedStatement ps = conn.prepare("SELECT $1::BOOL, $2::INT2, $3::INT4, $4::INT8, $5::FLOAT8, $6::UUID, $7::DATE, " +
+          "$8::TIMESTAMPTZ, $9::BYTEA, $10::INT8");
+        Instant instant = Instant.parse("2017-05-15T01:35:58.237666Z");
+        java.util.UUID uuid = java.util.UUID.fromString("50867d3d-0098-4f61-bd31-9309ebf53475");
+        byte[] bytes = { 0, 1, (byte) 0xff };
+        List<Object> params = Arrays.asList(true, (short) 32767, 2147483647, 9223372036854775807L, 3.5D, uuid,
+          java.time.LocalDate.parse("1981-05-30"), instant, bytes, 4);
+        // First execution describes the parameters in text format, the second one binds them in binary format
+        ps.query(params).execute(ctx.asyncAssertSuccess(text -> {
+          ps.query(params).execute(ctx.asyncAssertSuccess(binary -> {
+            JsonArray expected = text.getResults().get(0);
+            JsonArray actual = binary.getResults().get(0);
+            for (int i = 0;i < 8;i++) {
+              ctx.assertEquals(expected.getValue(i), actual.getValue(i));
+            }
+            ctx.assertEquals(instant, actual.getInstant(7));
+            ctx.assertEquals(3, actual.getBinary(8).length);
+            ctx.assertEquals((byte) 0xff, actual.getBinary(8)[2]);
+            ctx.assertEquals(4L, actual.getLong(9));
+            async.complete();
+          }));
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testBinaryResultFormat(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setBinaryResultFormat(true));
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("SET TIME ZONE 'UTC'").execute(ctx.asyncAssertSuccess(v -> {
+        PgPreparedStatement ps = conn.prepare("SELECT true, 32767::INT2, 2147483647::INT4, 9223372036854775807::INT8, " +
+          "3.4028235E38::FLOAT4, 1.7976931348623157E308::FLOAT8, 919.999999999999999999999999999999999999::NUMERIC, " +
+          "-12345678901234567890::NUMERIC, 'X'::CHAR, 'Hello'::TEXT, '50867d3d-0098-4f61-bd31-9309ebf53475'::UUID, " +
+          "'1981-05-30'::DATE, '17:55:04.90512'::TIME, '17:55:04.90512+03:07'::TIMETZ, " +
+          "'2017-05-14 19:35:58.237666'::TIMESTAMP, '2017-05-14 22:35:58.237666-03'::TIMESTAMPTZ, " +
+          "'{\"str\":\"blah\"}'::JSONB, '\\x0001ff'::BYTEA");
+        // First execution learns the columns in text format, the second one is done in binary format
+        ps.query().execute(ctx.asyncAssertSuccess(text -> {
+          ps.query().execute(ctx.asyncAssertSuccess(binary -> {
+            JsonArray expected = text.getResults().get(0);
+            JsonArray actual = binary.getResults().get(0);
+            ctx.assertEquals(expected.size(), actual.size());
+            for (int i = 0;i < expected.size() - 1;i++) {
+              ctx.assertEquals(expected.getValue(i), actual.getValue(i));
+            }
+            ctx.assertEquals(Instant.parse("2017-05-15T01:35:58.237666Z"), actual.getInstant(15));
+            byte[] bytea = actual.getBinary(17);
+            ctx.assertEquals(3, bytea.length);
+            ctx.assertEquals((byte)0xff, bytea[2]);
+            async.complete();
+          }));
+        }));
+      }));
+    }));
+  }
+
+
+  @Test
+  public void testWriteCoalescing(TestContext ctx) {
+    int num = 50;
+    Async async = ctx.async(num);
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setWriteCoalescing(true));
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      // The queries are written with a single flush
+      for (int i = 0;i < num;i++) {
+        int id = 1 + (i % 10);
+        conn.preparedQuery("SELECT id FROM Fortune WHERE id=$1", id, ctx.asyncAssertSuccess(result -> {
+          ctx.assertEquals(id, result.getResults().get(0).getInteger(0));
+          async.countDown();
+        }));
+      }
+    }));
+  }
+
+  @Test
+  public void testCachedRowDescription(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setCachePreparedStatements(true));
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.preparedQuery("SELECT id, message FROM Fortune WHERE id=$1", 1, ctx.asyncAssertSuccess(result1 -> {
+        // The second execution reuses the row description of the cached statement
+        conn.preparedQuery("SELECT id, message FROM Fortune WHERE id=$1", 1, ctx.asyncAssertSuccess(result2 -> {
+          ctx.assertEquals(result1.getColumnNames(), result2.getColumnNames());
+          ctx.assertEquals(result1.getResults(), result2.getResults());
+          conn.preparedQuery("UPDATE Fortune SET message=message WHERE id=$1", 1, ctx.asyncAssertSuccess(result3 -> {
+            conn.preparedQuery("UPDATE Fortune SET message=message WHERE id=$1", 1, ctx.asyncAssertSuccess(result4 -> {
+              async.complete();
+            }));
+          }));
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testPreparedStatementCacheEviction(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options)
+      .setCachePreparedStatements(true)
+      .setPreparedStatementCacheMaxSize(1));
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.preparedQuery("SELECT 1", ctx.asyncAssertSuccess(result1 -> {
+        conn.preparedQuery("SELECT 2", ctx.asyncAssertSuccess(result2 -> {
+          conn.preparedQuery("SELECT 1", ctx.asyncAssertSuccess(result3 -> {
+            ctx.assertEquals(1, result3.getResults().get(0).getInteger(0));
+            conn.query("SELECT COUNT(*) FROM pg_prepared_statements").execute(ctx.asyncAssertSuccess(count -> {
+              ctx.assertEquals(1L, count.getResults().get(0).getLong(0));
+              async.complete();
+            }));
+          }));
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testCopyFromText(TestContext ctx) {
+    testCopyFrom(ctx, PgCopyFormat.TEXT, "");
+  }
+
+  @Test
+  public void testCopyFromCsv(TestContext ctx) {
+    testCopyFrom(ctx, PgCopyFormat.CSV, " WITH (FORMAT csv)");
+  }
+
+  @Test
+  public void testCopyFromBinary(TestContext ctx) {
+    testCopyFrom(ctx, PgCopyFormat.BINARY, " WITH (FORMAT binary)");
+  }
+
+  private void testCopyFrom(TestContext ctx, PgCopyFormat format, String options) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, PgConnectionTestBase.options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("CREATE TEMP TABLE CopyTest (id INT4, message TEXT)").execute(ctx.asyncAssertSuccess(v -> {
+        PgCopyIn copyIn = conn.copyFrom("COPY CopyTest (id, message) FROM STDIN" + options, ctx.asyncAssertSuccess(count -> {
+          ctx.assertEquals(3, count);
+        }));
+        copyIn.format(format);
+        copyIn.writeRow(Arrays.asList(1, "tab\tseparated"));
+        copyIn.writeRow(Arrays.asList(2, "\"quoted\", with\nnew line"));
+        copyIn.writeRow(Arrays.asList(3, null));
+        copyIn.end();
+        // Executed once the copy is done
+        conn.query("SELECT id, message FROM CopyTest ORDER BY id").execute(ctx.asyncAssertSuccess(result -> {
+          ctx.assertEquals(3, result.getResults().size());
+          ctx.assertEquals("tab\tseparated", result.getResults().get(0).getString(1));
+          ctx.assertEquals("\"quoted\", with\nnew line", result.getResults().get(1).getString(1));
+          ctx.assertNull(result.getResults().get(2).getValue(1));
+          async.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testCopyFromBinaryNoRows(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("CREATE TEMP TABLE CopyTest (id INT4, message TEXT)").execute(ctx.asyncAssertSuccess(v -> {
+        PgCopyIn copyIn = conn.copyFrom("COPY CopyTest (id, message) FROM STDIN WITH (FORMAT binary)", ctx.asyncAssertSuccess(count -> {
+          ctx.assertEquals(0, count);
+          async.complete();
+        }));
+        copyIn.format(PgCopyFormat.BINARY);
+        copyIn.end();
+      }));
+    }));
+  }
+
+  @Test
+  public void testCopyFromManyRows(TestContext ctx) {
+    Async async = ctx.async();
+    int rows = 20000;
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("CREATE TEMP TABLE CopyTest (id INT4, message TEXT)").execute(ctx.asyncAssertSuccess(v -> {
+        PgCopyIn copyIn = conn.copyFrom("COPY CopyTest (id, message) FROM STDIN", ctx.asyncAssertSuccess(count -> {
+          ctx.assertEquals(rows, count);
+        }));
+        // Several buffers of data are sent
+        for (int i = 0;i < rows;i++) {
+          copyIn.writeRow(Arrays.asList(i, "message-" + i));
+        }
+        copyIn.end();
+        conn.query("SELECT COUNT(*), MAX(id) FROM CopyTest").execute(ctx.asyncAssertSuccess(result -> {
+          ctx.assertEquals((long) rows, result.getResults().get(0).getLong(0));
+          ctx.assertEquals(rows - 1, result.getResults().get(0).getInteger(1));
+          async.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testCopyTo(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("SELECT id, message FROM Fortune ORDER BY id").execute(ctx.asyncAssertSuccess(result -> {
+        StringBuilder expected = new StringBuilder();
+        for (JsonArray row : result.getResults()) {
+          expected.append(row.getInteger(0)).append('\t').append(row.getString(1)).append('\n');
+        }
+        Buffer copied = Buffer.buffer();
+        PgCopyOut copyOut = conn.copyTo("COPY (SELECT id, message FROM Fortune ORDER BY id) TO STDOUT");
+        copyOut.exceptionHandler(ctx::fail);
+        copyOut.endHandler(v -> {
+          ctx.assertEquals(expected.toString(), copied.toString("UTF-8"));
+          async.complete();
+        });
+        copyOut.handler(copied::appendBuffer);
+      }));
+    }));
+  }
+
+  @Test
+  public void testCopyToPause(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      AtomicInteger count = new AtomicInteger();
+      PgCopyOut copyOut = conn.copyTo("COPY (SELECT id, message FROM Fortune) TO STDOUT");
+      copyOut.endHandler(v -> {
+        ctx.assertTrue(count.get() > 0);
+        async.complete();
+      });
+      copyOut.handler(data -> {
+        count.incrementAndGet();
+        copyOut.pause();
+        vertx.setTimer(10, id -> copyOut.resume());
+      });
+    }));
+  }
+
+  @Test
+  public void testCopyToFailure(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      PgCopyOut copyOut = conn.copyTo("COPY DoesNotExist TO STDOUT");
+      copyOut.endHandler(v -> ctx.fail());
+      copyOut.exceptionHandler(err -> {
+        conn.query("SELECT 1").execute(ctx.asyncAssertSuccess(result -> {
+          async.complete();
+        }));
+      });
+      copyOut.handler(data -> ctx.fail());
+    }));
+  }
+
+  @Test
+  public void testCopyFromFailure(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      PgCopyIn copyIn = conn.copyFrom("COPY DoesNotExist FROM STDIN", ctx.asyncAssertFailure(err -> {
+        // The connection is usable again without ending the stream
+        conn.query("SELECT 1").execute(ctx.asyncAssertSuccess(result -> {
+          async.complete();
+        }));
+      }));
+      copyIn.writeRow(Arrays.asList(1, "hello"));
+    }));
+  }
 
   @Test
   public void testBatchUpdate(TestContext ctx) {
@@ -624,6 +900,99 @@ public abstract class PgConnectionTestBase extends PgTestBase {
     }));
   }
 
+  @Test
+  public void testBatchRewriteInserts(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("CREATE TEMP TABLE BatchTest (id INT4 PRIMARY KEY, message TEXT)").execute(ctx.asyncAssertSuccess(v -> {
+        PgPreparedStatement ps = conn.prepare("INSERT INTO BatchTest (id, message) VALUES ($1, $2) ON CONFLICT DO NOTHING");
+        PgBatch batch = ps.batch().rewriteInserts(4);
+        for (int i = 0;i < 10;i++) {
+          batch.add(i, "message-" + i);
+        }
+        // Conflicting row of the last chunk
+        batch.add(0, "conflict");
+        batch.execute(ctx.asyncAssertSuccess(results -> {
+          ctx.assertEquals(11, results.size());
+          for (int i = 0;i < 10;i++) {
+            ctx.assertEquals(1, results.get(i).getUpdated());
+          }
+          ctx.assertEquals(0, results.get(10).getUpdated());
+          conn.query("SELECT id, message FROM BatchTest ORDER BY id").execute(ctx.asyncAssertSuccess(result -> {
+            ctx.assertEquals(10, result.getNumRows());
+            for (int i = 0;i < 10;i++) {
+              ctx.assertEquals(i, result.getResults().get(i).getInteger(0));
+              ctx.assertEquals("message-" + i, result.getResults().get(i).getString(1));
+            }
+            async.complete();
+          }));
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testBatchRewriteInsertsAtomic(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("CREATE TEMP TABLE BatchTest (id INT4 PRIMARY KEY, message TEXT)").execute(ctx.asyncAssertSuccess(v -> {
+        PgPreparedStatement ps = conn.prepare("INSERT INTO BatchTest (id, message) VALUES ($1, $2)");
+        PgBatch batch = ps.batch().rewriteInserts(4);
+        for (int i = 0;i < 9;i++) {
+          batch.add(i, "message-" + i);
+        }
+        // Duplicate key in the tail that does not fill a chunk
+        batch.add(0, "duplicate");
+        batch.execute(ctx.asyncAssertFailure(err -> {
+          ctx.assertEquals("23505", ((PgException) err).getCode());
+          conn.query("SELECT COUNT(*) FROM BatchTest").execute(ctx.asyncAssertSuccess(result -> {
+            ctx.assertEquals(0L, result.getResults().get(0).getLong(0));
+            async.complete();
+          }));
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testBatchArrayParameters(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("CREATE TEMP TABLE ArrayTest (id INT4 PRIMARY KEY, message TEXT)").execute(ctx.asyncAssertSuccess(v -> {
+        PgPreparedStatement ps = conn.prepare("INSERT INTO ArrayTest (id, message) SELECT * FROM unnest($1::int4[], $2::text[]) " +
+          "ON CONFLICT (id) DO UPDATE SET message = EXCLUDED.message");
+        // The first execution sends the arrays in text format, the second in binary format
+        ps.batch().arrayParameters(true)
+          .add(0, "quote \" and backslash \\")
+          .add(1, null)
+          .add(2, "message-2")
+          .execute(ctx.asyncAssertSuccess(results1 -> {
+          ctx.assertEquals(3, results1.size());
+          ps.batch().arrayParameters(true)
+            .add(2, "updated-2")
+            .add(3, "message-3")
+            .execute(ctx.asyncAssertSuccess(results2 -> {
+            ctx.assertEquals(2, results2.size());
+            for (UpdateResult result : results2) {
+              ctx.assertEquals(1, result.getUpdated());
+            }
+            conn.query("SELECT id, message FROM ArrayTest ORDER BY id").execute(ctx.asyncAssertSuccess(result -> {
+              ctx.assertEquals(4, result.getNumRows());
+              ctx.assertEquals("quote \" and backslash \\", result.getResults().get(0).getString(1));
+              ctx.assertEquals(null, result.getResults().get(1).getString(1));
+              ctx.assertEquals("updated-2", result.getResults().get(2).getString(1));
+              ctx.assertEquals("message-3", result.getResults().get(3).getString(1));
+              async.complete();
+            }));
+          }));
+        }));
+      }));
+    }));
+  }
+
   private static int randomWorld() {
     return 1 + ThreadLocalRandom.current().nextInt(10000);
   }
@@ -781,6 +1150,68 @@ public abstract class PgConnectionTestBase extends PgTestBase {
       }));
     }));
   }
+
+  @Test
+  public void testCancelRequest(TestContext ctx) {
+    Async async = ctx.async(2);
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("SELECT pg_sleep(10)").execute(ctx.asyncAssertFailure(err -> {
+        ctx.assertEquals(ErrorCodes.query_canceled, ((PgException) err).getCode());
+        // The connection is still usable
+        conn.query("SELECT 1000").execute(ctx.asyncAssertSuccess(result -> {
+          async.countDown();
+        }));
+      }));
+      vertx.setTimer(100, id -> conn.cancelRequest(ctx.asyncAssertSuccess(v -> async.countDown())));
+    }));
+  }
+
+  @Test
+  public void testCancelQuery(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      PgQuery query = conn.query("SELECT pg_sleep(10)");
+      query.execute(ctx.asyncAssertFailure(err -> {
+        ctx.assertEquals(ErrorCodes.query_canceled, ((PgException) err).getCode());
+        async.complete();
+      }));
+      vertx.setTimer(100, id -> query.cancel(ctx.asyncAssertSuccess()));
+    }));
+  }
+
+  @Test
+  public void testQueryTimeout(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setQueryTimeout(100));
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("SELECT pg_sleep(10)").execute(ctx.asyncAssertFailure(err -> {
+        ctx.assertEquals(ErrorCodes.query_canceled, ((PgException) err).getCode());
+        // A query overriding the timeout
+        conn.query("SELECT pg_sleep(0.2)").timeout(1000).execute(ctx.asyncAssertSuccess(result -> {
+          async.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testPipelinedQueryTimeout(TestContext ctx) {
+    Async async = ctx.async(2);
+    PgClient client = PgClient.create(vertx, options);
+    connector.accept(client, ctx.asyncAssertSuccess(conn -> {
+      conn.query("SELECT pg_sleep(0.5)").timeout(100).execute(ctx.asyncAssertFailure(err -> {
+        // Failed without a cancel request that would cancel the next query
+        ctx.assertFalse(err instanceof PgException);
+        async.countDown();
+      }));
+      conn.query("SELECT 1000").execute(ctx.asyncAssertSuccess(result -> {
+        ctx.assertEquals(1, result.getNumRows());
+        async.countDown();
+      }));
+    }));
+  }
 /*
   @Test
   public void testSQLConnection(TestContext ctx) {
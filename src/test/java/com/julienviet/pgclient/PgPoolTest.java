@@ -21,6 +21,8 @@ import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -55,4 +57,101 @@ public class PgPoolTest extends PgPoolTestBase {
       }));
     }));
   }
+
+  @Test
+  public void testWarmUp(TestContext ctx) {
+    Async async = ctx.async(2);
+    ProxyServer proxy = ProxyServer.create(vertx, options.getPort(), options.getHost());
+    AtomicInteger connections = new AtomicInteger();
+    proxy.proxyHandler(conn -> {
+      if (connections.incrementAndGet() == 3) {
+        // The borrowed idle connection is replaced in the background
+        async.countDown();
+      }
+      conn.connect();
+    });
+    proxy.listen(8080, "localhost", ctx.asyncAssertSuccess(v1 -> {
+      PgClient client = PgClient.create(vertx, new PgClientOptions(options).setPort(8080).setHost("localhost"));
+      PgPool pool = client.createPool(new PgPoolOptions().setMaxSize(4).setMinIdle(2));
+      pool.warmUp(ctx.asyncAssertSuccess(v2 -> {
+        ctx.assertEquals(2, connections.get());
+        pool.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertSuccess(v3 -> {
+          async.countDown();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testAcquireTimeout(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    PgPool pool = client.createPool(new PgPoolOptions().setMaxSize(1).setAcquireTimeout(100));
+    pool.getConnection(ctx.asyncAssertSuccess(conn -> {
+      pool.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertFailure(err -> {
+        ctx.assertTrue(err instanceof PgPoolBusyException);
+        conn.close();
+        async.complete();
+      }));
+    }));
+  }
+
+  @Test
+  public void testMaxWaitQueueSize(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    PgPool pool = client.createPool(new PgPoolOptions().setMaxSize(1).setMaxWaitQueueSize(0));
+    pool.getConnection(ctx.asyncAssertSuccess(conn -> {
+      pool.getConnection(ctx.asyncAssertFailure(err -> {
+        ctx.assertTrue(err instanceof PgPoolBusyException);
+        conn.close();
+        async.complete();
+      }));
+    }));
+  }
+
+  @Test
+  public void testCommandConnectFailure(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setPort(8080).setHost("localhost"));
+    PgPool pool = createPool(client, 1);
+    pool.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertFailure(err -> {
+      async.complete();
+    }));
+  }
+
+  @Test
+  public void testResultCache(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    PgPool pool = client.createPool(new PgPoolOptions().setResultCacheMaxSize(16));
+    String sql = "SELECT $1::INT + random()";
+    pool.preparedQuery(sql, Collections.singletonList(1), ctx.asyncAssertSuccess(result1 -> {
+      pool.preparedQuery(sql, Collections.singletonList(1), ctx.asyncAssertSuccess(result2 -> {
+        ctx.assertEquals(result1.getResults(), result2.getResults());
+        pool.invalidate(sql);
+        pool.preparedQuery(sql, Collections.singletonList(1), ctx.asyncAssertSuccess(result3 -> {
+          ctx.assertNotEquals(result1.getResults(), result3.getResults());
+          async.complete();
+        }));
+      }));
+    }));
+  }
+
+  @Test
+  public void testCoalesceQueries(TestContext ctx) {
+    int num = 10;
+    Async async = ctx.async(num);
+    PgClient client = PgClient.create(vertx, options);
+    PgPool pool = client.createPool(new PgPoolOptions().setMaxSize(4).setCoalesceQueries(true));
+    AtomicReference<ResultSet> first = new AtomicReference<>();
+    for (int i = 0;i < num;i++) {
+      pool.preparedQuery("SELECT $1::INT + random()", Collections.singletonList(1), ctx.asyncAssertSuccess(result -> {
+        // A single query is executed, otherwise the random values would differ
+        first.compareAndSet(null, result);
+        ctx.assertEquals(first.get().getResults(), result.getResults());
+        async.countDown();
+      }));
+    }
+  }
 }
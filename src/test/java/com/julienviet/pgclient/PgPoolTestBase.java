@@ -18,6 +18,7 @@
 package com.julienviet.pgclient;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
@@ -70,6 +71,38 @@ public abstract class PgPoolTestBase extends PgTestBase {
     }
   }
 
+  @Test
+  public void testClosedPool(TestContext ctx) {
+    Async async = ctx.async(2);
+    PgClient client = PgClient.create(vertx, options);
+    PgPool pool = createPool(client, 4);
+    pool.close();
+    pool.getConnection(ctx.asyncAssertFailure(err -> async.countDown()));
+    pool.query("SELECT id, randomnumber from WORLD").execute(ctx.asyncAssertFailure(err -> async.countDown()));
+  }
+
+  @Test
+  public void testPreparedStatementCacheMetrics(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options)
+      .setCachePreparedStatements(true)
+      .setPreparedStatementCacheMaxSize(1));
+    PgPool pool = createPool(client, 1);
+    pool.preparedQuery("SELECT 1", ctx.asyncAssertSuccess(result1 -> {
+      pool.preparedQuery("SELECT 2", ctx.asyncAssertSuccess(result2 -> {
+        pool.preparedQuery("SELECT 2", ctx.asyncAssertSuccess(result3 -> {
+          pool.metrics(ctx.asyncAssertSuccess(metrics -> {
+            JsonObject cache = metrics.getJsonObject("preparedStatementCache");
+            ctx.assertEquals(1L, cache.getLong("hits"));
+            ctx.assertEquals(2L, cache.getLong("misses"));
+            ctx.assertEquals(1L, cache.getLong("evictions"));
+            async.complete();
+          }));
+        }));
+      }));
+    }));
+  }
+
   @Test
   public void testQuery(TestContext ctx) {
     int num = 1000;
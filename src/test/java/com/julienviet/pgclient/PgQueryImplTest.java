@@ -28,6 +28,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -85,6 +86,101 @@ public class PgQueryImplTest extends PgTestBase {
     }));
   }
 
+  @Test
+  public void testQueryRowStream(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      PgPreparedStatement ps = conn.prepare("SELECT id, message FROM Fortune WHERE id=$1 OR id=$2 OR id=$3 OR id=$4 OR id=$5 OR id=$6");
+      PgQuery stream = ps.query(1, 8, 4, 11, 2, 9);
+      List<Integer> ids = new ArrayList<>();
+      stream.exceptionHandler(ctx::fail);
+      stream.handler(rs -> ctx.assertEquals(0, rs.getNumRows()));
+      stream.endHandler(v -> {
+        ctx.assertEquals(6, ids.size());
+        ps.close(ctx.asyncAssertSuccess(result -> {
+          async.complete();
+        }));
+      });
+      stream.rowHandler(row -> {
+        ctx.assertEquals(2, row.size());
+        ctx.assertEquals("id", row.getColumnName(0));
+        ctx.assertNotNull(row.getString(1));
+        ids.add(row.getInteger(0));
+      });
+    }));
+  }
+
+  @Test
+  public void testQueryRowStreamCursor(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.query("BEGIN").execute(ctx.asyncAssertSuccess(begin -> {
+        PgPreparedStatement ps = conn.prepare("SELECT * FROM Fortune WHERE id=$1 OR id=$2 OR id=$3 OR id=$4 OR id=$5 OR id=$6");
+        PgQuery stream = ps.query(1, 8, 4, 11, 2, 9);
+        stream.fetch(4);
+        AtomicInteger rows = new AtomicInteger();
+        stream.exceptionHandler(ctx::fail);
+        stream.endHandler(v -> {
+          ctx.assertEquals(6, rows.get());
+          async.complete();
+        });
+        stream.rowHandler(row -> rows.incrementAndGet());
+      }));
+    }));
+  }
+
+  @Test
+  public void testQueryRetainRow(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      PgPreparedStatement ps = conn.prepare("SELECT id, message FROM Fortune WHERE id=$1 OR id=$2 OR id=$3 OR id=$4 OR id=$5 OR id=$6 ORDER BY id");
+      PgQuery stream = ps.query(1, 8, 4, 11, 2, 9);
+      List<Row> rows = new ArrayList<>();
+      stream.exceptionHandler(ctx::fail);
+      stream.endHandler(v -> {
+        ctx.assertEquals(6, rows.size());
+        ctx.assertEquals(1, rows.get(0).getInteger(0));
+        ctx.assertEquals(11, rows.get(5).getInteger(0));
+        for (Row row : rows) {
+          ctx.assertNotNull(row.getString(1));
+          ctx.assertTrue(row.release());
+          try {
+            row.getValue(0);
+            ctx.fail();
+          } catch (IllegalStateException ignore) {
+          }
+        }
+        async.complete();
+      });
+      stream.rowHandler(row -> {
+        ctx.assertFalse(row.release());
+        rows.add(row.retain());
+      });
+    }));
+  }
+
+  @Test
+  public void testSimpleQueryRowStream(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      AtomicInteger rows = new AtomicInteger();
+      PgQuery stream = conn.query("SELECT id, randomnumber FROM World");
+      stream.exceptionHandler(ctx::fail);
+      stream.endHandler(v -> {
+        ctx.assertEquals(10000, rows.get());
+        async.complete();
+      });
+      stream.rowHandler(row -> {
+        ctx.assertTrue(row.getValue(0) instanceof Integer);
+        rows.incrementAndGet();
+      });
+    }));
+  }
+
   @Test
   public void testQueryParseError(TestContext ctx) {
     Async async = ctx.async();
@@ -181,6 +277,166 @@ public class PgQueryImplTest extends PgTestBase {
     }));
   }
 
+  @Test
+  public void testQueryAdaptiveFetch(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.query("BEGIN").execute(ctx.asyncAssertSuccess(begin -> {
+        PgPreparedStatement ps = conn.prepare("SELECT id, randomnumber FROM World");
+        PgQuery stream = ps.query();
+        stream.fetch(10);
+        stream.adaptiveFetch(4096);
+        List<Integer> sizes = new ArrayList<>();
+        stream.exceptionHandler(ctx::fail);
+        stream.endHandler(v -> {
+          ctx.assertEquals(10000, sizes.stream().mapToInt(Integer::intValue).sum());
+          ctx.assertEquals(10, sizes.get(0));
+          ctx.assertEquals(20, sizes.get(1));
+          ctx.assertTrue(sizes.stream().anyMatch(size -> size > 20));
+          async.complete();
+        });
+        stream.handler(result -> sizes.add(result.getNumRows()));
+      }));
+    }));
+  }
+
+  @Test
+  public void testQueryStreamPauseCursor(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.query("BEGIN").execute(ctx.asyncAssertSuccess(begin -> {
+        PgPreparedStatement ps = conn.prepare("SELECT * FROM Fortune WHERE id=$1 OR id=$2 OR id=$3 OR id=$4 OR id=$5 OR id=$6");
+        PgQuery stream = ps.query(1, 8, 4, 11, 2, 9);
+        stream.fetch(4);
+        List<ResultSet> results = new ArrayList<>();
+        stream.exceptionHandler(ctx::fail);
+        stream.endHandler(v -> {
+          ctx.assertEquals(2, results.size());
+          async.complete();
+        });
+        stream.handler(result -> {
+          results.add(result);
+          if (results.size() == 1) {
+            stream.pause();
+            vertx.setTimer(100, id -> {
+              // The next rows are not fetched while paused
+              ctx.assertEquals(1, results.size());
+              stream.resume();
+            });
+          }
+        });
+      }));
+    }));
+  }
+
+  @Test
+  public void testCursorPinsCachedStatement(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options)
+      .setCachePreparedStatements(true)
+      .setPreparedStatementCacheMaxSize(1));
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.query("BEGIN").execute(ctx.asyncAssertSuccess(begin -> {
+        PgPreparedStatement ps = conn.prepare("SELECT * FROM Fortune WHERE id=$1 OR id=$2 OR id=$3 OR id=$4 OR id=$5 OR id=$6");
+        PgQuery stream = ps.query(1, 8, 4, 11, 2, 9);
+        stream.fetch(4);
+        AtomicInteger rows = new AtomicInteger();
+        stream.exceptionHandler(ctx::fail);
+        stream.endHandler(v -> {
+          ctx.assertEquals(6, rows.get());
+          async.complete();
+        });
+        stream.handler(result -> {
+          if (rows.getAndAdd(result.getNumRows()) == 0) {
+            stream.pause();
+            // Churn the cache past its max size while the portal is suspended
+            conn.preparedQuery("SELECT 1", Collections.emptyList(), ctx.asyncAssertSuccess(r1 -> {
+              conn.preparedQuery("SELECT 2", Collections.emptyList(), ctx.asyncAssertSuccess(r2 -> {
+                stream.resume();
+              }));
+            }));
+          }
+        });
+      }));
+    }));
+  }
+
+  @Test
+  public void testSimpleQueryRowStreamPause(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      AtomicInteger rows = new AtomicInteger();
+      PgQuery stream = conn.query("SELECT id, randomnumber FROM World");
+      stream.pause();
+      stream.exceptionHandler(ctx::fail);
+      stream.endHandler(v -> {
+        ctx.assertEquals(10000, rows.get());
+        async.complete();
+      });
+      stream.rowHandler(row -> rows.incrementAndGet());
+      vertx.setTimer(100, id -> {
+        // The socket is not read while paused
+        ctx.assertEquals(0, rows.get());
+        stream.resume();
+      });
+    }));
+  }
+
+  @Test
+  public void testSimpleQueryRowStreamPauseInHandler(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      AtomicInteger rows = new AtomicInteger();
+      PgQuery stream = conn.query("SELECT id, randomnumber FROM World");
+      stream.exceptionHandler(ctx::fail);
+      stream.endHandler(v -> {
+        ctx.assertEquals(10000, rows.get());
+        async.complete();
+      });
+      stream.rowHandler(row -> {
+        if (rows.incrementAndGet() == 1) {
+          stream.pause();
+          vertx.setTimer(100, id -> {
+            // The rows received with the first row are not delivered while paused
+            ctx.assertEquals(1, rows.get());
+            stream.resume();
+          });
+        }
+      });
+    }));
+  }
+
+  @Test
+  public void testPausedQueryPipelined(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      AtomicInteger rows = new AtomicInteger();
+      PgQuery stream = conn.query("SELECT id, randomnumber FROM World");
+      // The query executing before the paused query is not paused
+      conn.query("SELECT id, message FROM Fortune").execute(ctx.asyncAssertSuccess(result -> {
+        ctx.assertEquals(12, result.getNumRows());
+        vertx.setTimer(100, id -> {
+          // The socket is paused once the paused query is executing
+          ctx.assertEquals(0, rows.get());
+          stream.resume();
+        });
+      }));
+      stream.pause();
+      stream.exceptionHandler(ctx::fail);
+      stream.endHandler(v -> {
+        ctx.assertEquals(10000, rows.get());
+        async.complete();
+      });
+      stream.rowHandler(row -> rows.incrementAndGet());
+    }));
+  }
+
+
   @Test
   public void testQueryCloseCursor(TestContext ctx) {
     Async async = ctx.async();
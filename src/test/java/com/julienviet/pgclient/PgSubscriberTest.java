@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class PgSubscriberTest extends PgTestBase {
+
+  Vertx vertx;
+
+  @Before
+  public void setup() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void teardown(TestContext ctx) {
+    vertx.close(ctx.asyncAssertSuccess());
+  }
+
+  private void notify(TestContext ctx, PgClient client, String channel, String payload) {
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      conn.preparedQuery("SELECT pg_notify($1, $2)", Arrays.asList(channel, payload), ctx.asyncAssertSuccess(v -> {
+        conn.close();
+      }));
+    }));
+  }
+
+  @Test
+  public void testNotify(TestContext ctx) {
+    Async async = ctx.async(2);
+    PgClient client = PgClient.create(vertx, options);
+    PgSubscriber subscriber = PgSubscriber.subscriber(client);
+    // Both channels share the same subscription, the channel name is case sensitive
+    PgChannel channel1 = subscriber.channel("The_Channel");
+    PgChannel channel2 = subscriber.channel("The_Channel");
+    for (PgChannel channel : Arrays.asList(channel1, channel2)) {
+      channel.handler(payload -> {
+        ctx.assertEquals("msg", payload);
+        async.countDown();
+      });
+    }
+    channel1.subscribeHandler(v -> notify(ctx, client, "The_Channel", "msg"));
+    subscriber.connect(ctx.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testUnsubscribe(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, options);
+    PgSubscriber subscriber = PgSubscriber.subscriber(client);
+    PgChannel channel1 = subscriber.channel("channel1");
+    PgChannel channel2 = subscriber.channel("channel2");
+    channel1.handler(payload -> ctx.fail());
+    channel2.handler(payload -> async.complete());
+    channel2.subscribeHandler(v -> {
+      channel1.handler(null);
+      // Sent once the channel1 is unlistened
+      vertx.setTimer(100, id -> {
+        notify(ctx, client, "channel1", "msg");
+        vertx.setTimer(100, id2 -> notify(ctx, client, "channel2", "msg"));
+      });
+    });
+    subscriber.connect(ctx.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testReconnect(TestContext ctx) {
+    Async async = ctx.async();
+    ProxyServer proxy = ProxyServer.create(vertx, options.getPort(), options.getHost());
+    AtomicReference<ProxyServer.Connection> proxyConn = new AtomicReference<>();
+    proxy.proxyHandler(conn -> {
+      proxyConn.set(conn);
+      conn.connect();
+    });
+    proxy.listen(8080, "localhost", ctx.asyncAssertSuccess(v1 -> {
+      PgClient client = PgClient.create(vertx, options);
+      PgSubscriber subscriber = PgSubscriber.subscriber(PgClient.create(vertx, new PgClientOptions(options).setPort(8080).setHost("localhost")));
+      subscriber.reconnectPolicy(count -> 10L);
+      AtomicInteger subscriptions = new AtomicInteger();
+      PgChannel channel = subscriber.channel("the_channel");
+      channel.subscribeHandler(v2 -> {
+        if (subscriptions.incrementAndGet() == 1) {
+          proxyConn.get().close();
+        } else {
+          notify(ctx, client, "the_channel", "msg");
+        }
+      });
+      channel.handler(payload -> {
+        ctx.assertEquals(2, subscriptions.get());
+        async.complete();
+      });
+      subscriber.connect(ctx.asyncAssertSuccess());
+    }));
+  }
+
+  @Test
+  public void testClose(TestContext ctx) {
+    Async async = ctx.async(2);
+    PgClient client = PgClient.create(vertx, options);
+    PgSubscriber subscriber = PgSubscriber.subscriber(client);
+    PgChannel channel = subscriber.channel("the_channel");
+    channel.endHandler(v -> async.countDown());
+    subscriber.closeHandler(v -> async.countDown());
+    channel.subscribeHandler(v -> subscriber.close());
+    channel.handler(payload -> ctx.fail());
+    subscriber.connect(ctx.asyncAssertSuccess());
+  }
+}
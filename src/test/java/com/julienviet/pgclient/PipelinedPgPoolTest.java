@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import org.junit.Test;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+public class PipelinedPgPoolTest extends PgPoolTestBase {
+
+  @Override
+  protected PgPool createPool(PgClient client, int size) {
+    return client.createPool(new PgPoolOptions().setMode(PoolingMode.PIPELINED).setMaxSize(size));
+  }
+
+  @Test
+  public void testMetrics(TestContext ctx) {
+    Async async = ctx.async();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setPipeliningLimit(2));
+    PgPool pool = createPool(client, 1);
+    pool.warmUp(ctx.asyncAssertSuccess(v -> {
+      for (int i = 0;i < 4;i++) {
+        pool.query("SELECT pg_sleep(0.1)").execute(ctx.asyncAssertSuccess());
+      }
+      pool.metrics(ctx.asyncAssertSuccess(metrics -> {
+        // Two commands are pipelined on the connection and two wait in the pool
+        ctx.assertEquals(2, metrics.getInteger("waitQueueSize"));
+        ctx.assertEquals(new JsonArray().add(2), metrics.getJsonArray("queueDepths"));
+        async.complete();
+      }));
+    }));
+  }
+}
@@ -26,7 +26,7 @@ public class StatementPgPoolTest extends PgPoolTestBase {
 
   @Override
   protected PgPool createPool(PgClient client, int size) {
-    return client.createPool(new PgPoolOptions().setMode(PoolingMode.STATEMENT).setMaxSize(1));
+    return client.createPool(new PgPoolOptions().setMode(PoolingMode.STATEMENT).setMaxSize(size));
   }
 
   @Override
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InsertRewriterTest {
+
+  @Test
+  public void testRewrite() {
+    InsertRewriter rewriter = InsertRewriter.parse("INSERT INTO Test (id, message) VALUES ($1, $2)");
+    assertNotNull(rewriter);
+    assertEquals(2, rewriter.paramCount());
+    assertEquals(32767, rewriter.maxRows());
+    assertEquals("INSERT INTO Test (id, message) VALUES ($1, $2)", rewriter.rewrite(1));
+    assertEquals("INSERT INTO Test (id, message) VALUES ($1, $2), ($3, $4), ($5, $6)", rewriter.rewrite(3));
+  }
+
+  @Test
+  public void testRewriteWithSuffix() {
+    InsertRewriter rewriter = InsertRewriter.parse("insert into Test values (lower($2), $1, '$1', 'it''s') on conflict do nothing returning id");
+    assertNotNull(rewriter);
+    assertEquals(2, rewriter.paramCount());
+    assertEquals("insert into Test values (lower($2), $1, '$1', 'it''s'), (lower($4), $3, '$1', 'it''s') on conflict do nothing returning id", rewriter.rewrite(2));
+  }
+
+  @Test
+  public void testNotRewritable() {
+    assertNull(InsertRewriter.parse("UPDATE Test SET message=$1 WHERE id=$2"));
+    assertNull(InsertRewriter.parse("INSERT INTO Test (id) VALUES ($1), ($2)"));
+    assertNull(InsertRewriter.parse("INSERT INTO Test (id) VALUES ($1) ON CONFLICT (id) DO UPDATE SET id = $1"));
+    assertNull(InsertRewriter.parse("INSERT INTO Test (id) SELECT $1"));
+    assertNull(InsertRewriter.parse("INSERT INTO Test (id) VALUES (1)"));
+    assertNull(InsertRewriter.parse("INSERT INTO Test (id) VALUES ($1"));
+  }
+}
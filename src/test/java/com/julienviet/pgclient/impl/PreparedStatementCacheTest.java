@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PreparedStatementCacheTest {
+
+  @Test
+  public void testHitAndMiss() {
+    List<PreparedStatement> evicted = new ArrayList<>();
+    PreparedStatementCache cache = new PreparedStatementCache(2, 1024, evicted::add);
+    assertNull(cache.get("SELECT 1"));
+    PreparedStatement ps = new PreparedStatement("s1");
+    cache.put("SELECT 1", ps);
+    assertSame(ps, cache.get("SELECT 1"));
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(0, cache.evictions());
+    assertEquals(0, evicted.size());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    List<PreparedStatement> evicted = new ArrayList<>();
+    PreparedStatementCache cache = new PreparedStatementCache(2, 1024, evicted::add);
+    PreparedStatement ps1 = new PreparedStatement("s1");
+    PreparedStatement ps2 = new PreparedStatement("s2");
+    PreparedStatement ps3 = new PreparedStatement("s3");
+    cache.put("SELECT 1", ps1);
+    cache.put("SELECT 2", ps2);
+    cache.get("SELECT 1");
+    cache.put("SELECT 3", ps3);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.evictions());
+    assertEquals(1, evicted.size());
+    assertSame(ps2, evicted.get(0));
+    assertNull(cache.get("SELECT 2"));
+    assertSame(ps1, cache.get("SELECT 1"));
+    assertSame(ps3, cache.get("SELECT 3"));
+  }
+
+  @Test
+  public void testEvictOnMaxBytes() {
+    List<PreparedStatement> evicted = new ArrayList<>();
+    PreparedStatementCache cache = new PreparedStatementCache(16, 16, evicted::add);
+    PreparedStatement ps1 = new PreparedStatement("s1");
+    PreparedStatement ps2 = new PreparedStatement("s2");
+    cache.put("SELECT 1", ps1);
+    cache.put("SELECT 2", ps2);
+    assertEquals(0, evicted.size());
+    cache.put("SELECT 3", new PreparedStatement("s3"));
+    assertEquals(1, evicted.size());
+    assertSame(ps1, evicted.get(0));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testKeepLargeStatement() {
+    List<PreparedStatement> evicted = new ArrayList<>();
+    PreparedStatementCache cache = new PreparedStatementCache(16, 4, evicted::add);
+    PreparedStatement ps = new PreparedStatement("s1");
+    cache.put("SELECT 1", ps);
+    assertEquals(0, evicted.size());
+    assertSame(ps, cache.get("SELECT 1"));
+  }
+
+  @Test
+  public void testPinnedStatementNotEvicted() {
+    List<PreparedStatement> evicted = new ArrayList<>();
+    PreparedStatementCache cache = new PreparedStatementCache(1, 1024, evicted::add);
+    PreparedStatement ps1 = new PreparedStatement("s1");
+    PreparedStatement ps2 = new PreparedStatement("s2");
+    PreparedStatement ps3 = new PreparedStatement("s3");
+    cache.put("SELECT 1", ps1);
+    // An open portal is bound from the statement
+    ps1.portals++;
+    cache.put("SELECT 2", ps2);
+    assertEquals(2, cache.size());
+    assertEquals(0, evicted.size());
+    ps1.portals--;
+    cache.put("SELECT 3", ps3);
+    assertEquals(1, cache.size());
+    assertEquals(2, evicted.size());
+    assertSame(ps1, evicted.get(0));
+    assertSame(ps2, evicted.get(1));
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.ResultSet;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonArray;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ResultCacheTest {
+
+  private long now;
+
+  @Test
+  public void testHitAndMiss() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<ResultSet> results = new ArrayList<>();
+    cache.get("SELECT $1", Collections.singletonList(1), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(1, loaders.size());
+    ResultSet rs = new ResultSet();
+    loaders.get(0).handle(Future.succeededFuture(rs));
+    cache.get("SELECT $1", Collections.singletonList(1), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(1, loaders.size());
+    assertEquals(Arrays.asList(rs, rs), results);
+    cache.get("SELECT $1", Collections.singletonList(2), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(2, loaders.size());
+    assertEquals(1, cache.hits());
+    assertEquals(2, cache.misses());
+  }
+
+  @Test
+  public void testConcurrentMisses() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<ResultSet> results = new ArrayList<>();
+    for (int i = 0;i < 3;i++) {
+      cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    }
+    assertEquals(1, loaders.size());
+    assertEquals(0, results.size());
+    ResultSet rs = new ResultSet();
+    loaders.get(0).handle(Future.succeededFuture(rs));
+    assertEquals(Arrays.asList(rs, rs, rs), results);
+  }
+
+  @Test
+  public void testFailureNotCached() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    cache.get("SELECT 1", Collections.emptyList(), ar -> failures.add(ar.cause()), loaders::add);
+    Throwable cause = new Exception();
+    loaders.get(0).handle(Future.failedFuture(cause));
+    assertEquals(Collections.singletonList(cause), failures);
+    assertEquals(0, cache.size());
+    cache.get("SELECT 1", Collections.emptyList(), ar -> {}, loaders::add);
+    assertEquals(2, loaders.size());
+  }
+
+  @Test
+  public void testExpiration() {
+    ResultCache cache = new ResultCache(2, 100, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    cache.get("SELECT 1", Collections.emptyList(), ar -> {}, loaders::add);
+    loaders.get(0).handle(Future.succeededFuture(new ResultSet()));
+    now = 99;
+    cache.get("SELECT 1", Collections.emptyList(), ar -> {}, loaders::add);
+    assertEquals(1, loaders.size());
+    now = 100;
+    cache.get("SELECT 1", Collections.emptyList(), ar -> {}, loaders::add);
+    assertEquals(2, loaders.size());
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    for (String sql : Arrays.asList("SELECT 1", "SELECT 2", "SELECT 1", "SELECT 3")) {
+      cache.get(sql, Collections.emptyList(), ar -> {}, loader -> {
+        loaders.add(loader);
+        loader.handle(Future.succeededFuture(new ResultSet()));
+      });
+    }
+    assertEquals(3, loaders.size());
+    assertEquals(2, cache.size());
+    cache.get("SELECT 1", Collections.emptyList(), ar -> {}, loaders::add);
+    assertEquals(3, loaders.size());
+    cache.get("SELECT 2", Collections.emptyList(), ar -> {}, loaders::add);
+    assertEquals(4, loaders.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    ResultCache cache = new ResultCache(4, 0, () -> now);
+    for (Object param : Arrays.asList(1, 2)) {
+      cache.get("SELECT $1", Collections.singletonList(param), ar -> {}, loader -> loader.handle(Future.succeededFuture(new ResultSet())));
+    }
+    cache.get("SELECT 2", Collections.emptyList(), ar -> {}, loader -> loader.handle(Future.succeededFuture(new ResultSet())));
+    assertEquals(3, cache.size());
+    cache.invalidate("SELECT $1");
+    assertEquals(1, cache.size());
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidateWhileLoading() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<ResultSet> results = new ArrayList<>();
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    cache.invalidate("SELECT 1");
+    loaders.get(0).handle(Future.succeededFuture(new ResultSet()));
+    assertEquals(1, results.size());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidateDetachesLoad() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<ResultSet> results = new ArrayList<>();
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    cache.invalidate("SELECT 1");
+    // Does not join the load started before the invalidation
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(2, loaders.size());
+    loaders.get(0).handle(Future.succeededFuture(new ResultSet()));
+    assertEquals(1, results.size());
+    assertEquals(0, cache.size());
+    loaders.get(1).handle(Future.succeededFuture(new ResultSet()));
+    assertEquals(2, results.size());
+    assertEquals(1, cache.size());
+    cache.get("SELECT 2", Collections.emptyList(), ar -> {}, loaders::add);
+    cache.invalidateAll();
+    cache.get("SELECT 2", Collections.emptyList(), ar -> {}, loaders::add);
+    assertEquals(4, loaders.size());
+  }
+
+  @Test
+  public void testResultCopiedPerCaller() {
+    ResultCache cache = new ResultCache(2, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<ResultSet> results = new ArrayList<>();
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    ResultSet rs = new ResultSet(new ArrayList<>(Collections.singletonList("id")), new ArrayList<>(Collections.singletonList(new JsonArray().add(1))), null);
+    loaders.get(0).handle(Future.succeededFuture(rs));
+    assertEquals(2, results.size());
+    assertNotSame(results.get(0), results.get(1));
+    results.get(0).getResults().get(0).getList().set(0, 2);
+    results.get(0).getResults().clear();
+    assertEquals(rs, results.get(1));
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(1, loaders.size());
+    assertEquals(rs, results.get(2));
+    assertEquals(1, (int) results.get(2).getResults().get(0).getInteger(0));
+  }
+
+  @Test
+  public void testCoalesceOnly() {
+    ResultCache cache = new ResultCache(0, 0, () -> now);
+    List<Handler<AsyncResult<ResultSet>>> loaders = new ArrayList<>();
+    List<ResultSet> results = new ArrayList<>();
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(1, loaders.size());
+    ResultSet rs = new ResultSet();
+    loaders.get(0).handle(Future.succeededFuture(rs));
+    assertEquals(Arrays.asList(rs, rs), results);
+    assertEquals(0, cache.size());
+    cache.get("SELECT 1", Collections.emptyList(), ar -> results.add(ar.result()), loaders::add);
+    assertEquals(2, loaders.size());
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017 Julien Viet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.julienviet.pgclient.impl;
+
+import com.julienviet.pgclient.PgClient;
+import com.julienviet.pgclient.PgClientOptions;
+import com.julienviet.pgclient.PgTestBase;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
+ */
+@RunWith(VertxUnitRunner.class)
+public class SocketConnectionTest {
+
+  private static PgClientOptions options;
+  private Vertx vertx;
+
+  @BeforeClass
+  public static void before() throws Exception {
+    options = PgTestBase.startPg();
+  }
+
+  @AfterClass
+  public static void after() throws Exception {
+    PgTestBase.stopPg();
+  }
+
+  @Before
+  public void setup() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void teardown(TestContext ctx) {
+    vertx.close(ctx.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testWriteCoalescingFlushes(TestContext ctx) {
+    int num = 50;
+    Async async = ctx.async(num);
+    AtomicInteger writes = new AtomicInteger();
+    AtomicInteger flushes = new AtomicInteger();
+    PgClient client = PgClient.create(vertx, new PgClientOptions(options).setWriteCoalescing(true));
+    client.connect(ctx.asyncAssertSuccess(conn -> {
+      SocketConnection socketConn = (SocketConnection) ((PgConnectionImpl) conn).conn;
+      socketConn.socket().channelHandlerContext().pipeline().addFirst("counter", new ChannelOutboundHandlerAdapter() {
+        @Override
+        public void write(ChannelHandlerContext chctx, Object msg, ChannelPromise promise) throws Exception {
+          writes.incrementAndGet();
+          super.write(chctx, msg, promise);
+        }
+        @Override
+        public void flush(ChannelHandlerContext chctx) throws Exception {
+          flushes.incrementAndGet();
+          super.flush(chctx);
+        }
+      });
+      for (int i = 0;i < num;i++) {
+        conn.preparedQuery("SELECT id FROM Fortune WHERE id=$1", 1 + (i % 10), ctx.asyncAssertSuccess(result -> {
+          // The pipelined queries are sent with a single write and flush at the end of the event loop tick
+          ctx.assertEquals(1, writes.get());
+          ctx.assertEquals(1, flushes.get());
+          async.countDown();
+        }));
+      }
+    }));
+  }
+}
@@ -17,10 +17,21 @@
 
 package com.julienviet.pgclient.provider;
 
+import com.julienviet.pgclient.PgPoolBusyException;
+import com.julienviet.pgclient.PgPoolOptions;
 import com.julienviet.pgclient.impl.provider.ConnectionPoolProvider;
 import com.julienviet.pgclient.impl.provider.ConnectionProvider;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.Assert.*;
 
 public class ConnectionPoolTest {
@@ -145,4 +156,248 @@ public class ConnectionPoolTest {
     } catch (IllegalStateException ignore) {
     }
   }
+
+  @Test
+  public void testWarmUp() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, new PgPoolOptions().setMaxSize(4).setMinIdle(2));
+    AtomicInteger warmedUp = new AtomicInteger();
+    provider.warmUp(ar -> {
+      assertTrue(ar.succeeded());
+      warmedUp.incrementAndGet();
+    });
+    assertEquals(2, queue.size());
+    queue.connect(new SimpleConnection());
+    assertEquals(0, warmedUp.get());
+    queue.connect(new SimpleConnection());
+    assertEquals(1, warmedUp.get());
+    SimpleHolder holder = new SimpleHolder();
+    provider.acquire(holder);
+    assertTrue(holder.isConnected());
+    // Replenish the borrowed idle connection
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  public void testWarmUpAtLeastOne() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, 4);
+    AtomicInteger warmedUp = new AtomicInteger();
+    provider.warmUp(ar -> {
+      assertTrue(ar.succeeded());
+      warmedUp.incrementAndGet();
+    });
+    assertEquals(1, queue.size());
+    queue.connect(new SimpleConnection());
+    assertEquals(1, warmedUp.get());
+    provider.warmUp(ar -> {
+      assertTrue(ar.succeeded());
+      warmedUp.incrementAndGet();
+    });
+    assertEquals(0, queue.size());
+    assertEquals(2, warmedUp.get());
+  }
+
+  @Test
+  public void testWarmUpFailure() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, new PgPoolOptions().setMaxSize(4).setMinIdle(2));
+    Exception failure = new Exception();
+    AtomicReference<Throwable> cause = new AtomicReference<>();
+    provider.warmUp(ar -> {
+      assertTrue(ar.failed());
+      cause.set(ar.cause());
+    });
+    queue.fail(failure);
+    assertNull(cause.get());
+    queue.connect(new SimpleConnection());
+    assertSame(failure, cause.get());
+  }
+
+  @Test
+  public void testReplenishClosedConnection() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, new PgPoolOptions().setMaxSize(4).setMinIdle(1));
+    provider.warmUp(ar -> {});
+    SimpleConnection conn = new SimpleConnection();
+    queue.connect(conn);
+    assertEquals(0, queue.size());
+    conn.close();
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  public void testReplenishWithinMaxSize() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, new PgPoolOptions().setMaxSize(1).setMinIdle(1));
+    provider.warmUp(ar -> {});
+    queue.connect(new SimpleConnection());
+    SimpleHolder holder = new SimpleHolder();
+    provider.acquire(holder);
+    assertTrue(holder.isConnected());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testMaxWaitQueueSize() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, new PgPoolOptions().setMaxSize(1).setMaxWaitQueueSize(1));
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertTrue(holder2.isComplete());
+    assertFalse(holder2.isConnected());
+    assertTrue(holder2.acquireFailure() instanceof PgPoolBusyException);
+    queue.connect(new SimpleConnection());
+    assertTrue(holder1.isConnected());
+    holder1.init();
+    SimpleHolder holder3 = new SimpleHolder();
+    provider.acquire(holder3);
+    assertFalse(holder3.isComplete());
+    holder1.close();
+    assertTrue(holder3.isConnected());
+  }
+
+  @Test
+  public void testMaxWaitQueueSizeColdPool() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, new PgPoolOptions().setMaxSize(2).setMaxWaitQueueSize(0));
+    // The pool can open connections for the first waiters
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertFalse(holder1.isComplete());
+    assertFalse(holder2.isComplete());
+    assertEquals(2, queue.size());
+    SimpleHolder holder3 = new SimpleHolder();
+    provider.acquire(holder3);
+    assertTrue(holder3.acquireFailure() instanceof PgPoolBusyException);
+    queue.connect(new SimpleConnection());
+    queue.connect(new SimpleConnection());
+    assertTrue(holder1.isConnected());
+    assertTrue(holder2.isConnected());
+  }
+
+  @Test
+  public void testCancel() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, 1);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    assertTrue(provider.cancel(holder1));
+    assertFalse(provider.cancel(holder1));
+    queue.connect(new SimpleConnection());
+    assertFalse(holder1.isComplete());
+    // The connection is available for the next waiter
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertTrue(holder2.isConnected());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testIdleTimeout() {
+    AtomicLong clock = new AtomicLong();
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, null, new PgPoolOptions().setMaxSize(2).setMinIdle(1).setIdleTimeout(100), clock::get);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    SimpleConnection conn1 = new SimpleConnection();
+    queue.connect(conn1);
+    SimpleConnection conn2 = new SimpleConnection();
+    queue.connect(conn2);
+    holder1.init();
+    holder2.init();
+    holder1.close();
+    holder2.close();
+    clock.set(99);
+    provider.evict();
+    assertEquals(0, conn1.closed + conn2.closed);
+    clock.set(100);
+    provider.evict();
+    // The min idle connection is kept
+    assertEquals(1, conn1.closed + conn2.closed);
+  }
+
+  @Test
+  public void testMaxLifetime() {
+    AtomicLong clock = new AtomicLong();
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, null, new PgPoolOptions().setMaxSize(1).setMaxLifetime(1000), clock::get);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleConnection conn = new SimpleConnection();
+    queue.connect(conn);
+    holder1.init();
+    clock.set(899);
+    holder1.close();
+    provider.evict();
+    assertEquals(0, conn.closed);
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertTrue(holder2.isConnected());
+    holder2.init();
+    clock.set(1000);
+    // The expired connection is closed when it is released
+    holder2.close();
+    assertEquals(1, conn.closed);
+    conn.close();
+    SimpleHolder holder3 = new SimpleHolder();
+    provider.acquire(holder3);
+    assertFalse(holder3.isComplete());
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  public void testValidateOnBorrow() {
+    List<Handler<AsyncResult<Void>>> validations = new ArrayList<>();
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, (conn, handler) -> validations.add(handler), new PgPoolOptions().setMaxSize(1).setValidateOnBorrow(true), System::currentTimeMillis);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleConnection conn1 = new SimpleConnection();
+    queue.connect(conn1);
+    // A new connection is not validated
+    assertEquals(0, validations.size());
+    assertTrue(holder1.isConnected());
+    holder1.init();
+    holder1.close();
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertEquals(1, validations.size());
+    assertFalse(holder2.isComplete());
+    validations.remove(0).handle(Future.failedFuture(new Exception()));
+    assertEquals(1, conn1.closed);
+    assertFalse(holder2.isComplete());
+    conn1.close();
+    SimpleConnection conn2 = new SimpleConnection();
+    queue.connect(conn2);
+    assertTrue(holder2.isConnected());
+    assertEquals(0, validations.size());
+  }
+
+  @Test
+  public void testBackgroundValidation() {
+    AtomicLong clock = new AtomicLong();
+    List<Handler<AsyncResult<Void>>> validations = new ArrayList<>();
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new ConnectionPoolProvider(queue, (conn, handler) -> validations.add(handler), new PgPoolOptions().setMaxSize(1).setValidationInterval(100), clock::get);
+    provider.warmUp(ar -> {});
+    SimpleConnection conn = new SimpleConnection();
+    queue.connect(conn);
+    clock.set(100);
+    provider.evict();
+    assertEquals(1, validations.size());
+    // Not lent while it is validated
+    SimpleHolder holder = new SimpleHolder();
+    provider.acquire(holder);
+    assertFalse(holder.isComplete());
+    validations.remove(0).handle(Future.succeededFuture());
+    assertTrue(holder.isConnected());
+    assertEquals(0, conn.closed);
+  }
 }
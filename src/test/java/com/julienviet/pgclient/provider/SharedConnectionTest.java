@@ -17,11 +17,13 @@
 
 package com.julienviet.pgclient.provider;
 
+import com.julienviet.pgclient.PgPoolBusyException;
 import com.julienviet.pgclient.impl.provider.ConnectionProvider;
 import com.julienviet.pgclient.impl.provider.SharedConnectionProvider;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -118,4 +120,126 @@ public class SharedConnectionTest {
     } catch (IllegalStateException ignore) {
     }
   }
+
+  @Test
+  public void testLeastLoaded() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new SharedConnectionProvider(queue, 2);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    assertEquals(1, queue.size());
+    SimpleConnection conn1 = new SimpleConnection();
+    queue.connect(conn1);
+    assertTrue(holder1.isConnected());
+    holder1.init();
+    conn1.queueDepth = 1;
+    // The connection is busy, another one is opened but the holder does not wait for it
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertEquals(1, queue.size());
+    assertSame(holder1.connection(), holder2.connection());
+    SimpleConnection conn2 = new SimpleConnection();
+    queue.connect(conn2);
+    conn1.queueDepth = 2;
+    SimpleHolder holder3 = new SimpleHolder();
+    provider.acquire(holder3);
+    assertNotSame(holder1.connection(), holder3.connection());
+    holder3.init();
+    conn2.queueDepth = 3;
+    // The max size is reached
+    SimpleHolder holder4 = new SimpleHolder();
+    provider.acquire(holder4);
+    assertEquals(0, queue.size());
+    assertSame(holder1.connection(), holder4.connection());
+  }
+
+  @Test
+  public void testConnectionFailure() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new SharedConnectionProvider(queue, 2);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    // A single connection is opened until one is available
+    assertEquals(1, queue.size());
+    queue.fail(new Exception());
+    assertTrue(holder1.isComplete());
+    assertFalse(holder1.isConnected());
+    assertTrue(holder2.isComplete());
+    assertFalse(holder2.isConnected());
+  }
+
+  @Test
+  public void testMaxDepth() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new SharedConnectionProvider(queue, 1, 2);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleConnection conn = new SimpleConnection();
+    queue.connect(conn);
+    assertTrue(holder1.isConnected());
+    holder1.init();
+    conn.queueDepth = 1;
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertTrue(holder2.isConnected());
+    holder2.init();
+    conn.queueDepth = 2;
+    SimpleHolder holder3 = new SimpleHolder();
+    provider.acquire(holder3);
+    assertFalse(holder3.isComplete());
+    assertEquals(1, provider.waitQueueSize());
+    assertEquals(Collections.singletonList(2), provider.queueDepths());
+    conn.queueDepth = 1;
+    holder1.close();
+    assertTrue(holder3.isConnected());
+    assertEquals(0, provider.waitQueueSize());
+  }
+
+  @Test
+  public void testMaxWaitQueueSize() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new SharedConnectionProvider(queue, 1, 1, 1);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleConnection conn = new SimpleConnection();
+    queue.connect(conn);
+    assertTrue(holder1.isConnected());
+    holder1.init();
+    conn.queueDepth = 1;
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertFalse(holder2.isComplete());
+    SimpleHolder holder3 = new SimpleHolder();
+    provider.acquire(holder3);
+    assertTrue(holder3.acquireFailure() instanceof PgPoolBusyException);
+    conn.queueDepth = 0;
+    holder1.close();
+    assertTrue(holder2.isConnected());
+  }
+
+  @Test
+  public void testCloseSaturatedConnection() {
+    ConnectionQueue queue = new ConnectionQueue();
+    ConnectionProvider provider = new SharedConnectionProvider(queue, 1, 1);
+    SimpleHolder holder1 = new SimpleHolder();
+    provider.acquire(holder1);
+    SimpleConnection conn1 = new SimpleConnection();
+    queue.connect(conn1);
+    assertTrue(holder1.isConnected());
+    holder1.init();
+    conn1.queueDepth = 1;
+    SimpleHolder holder2 = new SimpleHolder();
+    provider.acquire(holder2);
+    assertFalse(holder2.isComplete());
+    assertEquals(0, queue.size());
+    conn1.close();
+    // A new connection is opened for the waiter
+    assertEquals(1, queue.size());
+    SimpleConnection conn2 = new SimpleConnection();
+    queue.connect(conn2);
+    assertTrue(holder2.isConnected());
+    assertEquals(0, provider.waitQueueSize());
+  }
 }
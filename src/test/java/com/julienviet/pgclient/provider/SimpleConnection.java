@@ -19,12 +19,15 @@ package com.julienviet.pgclient.provider;
 
 import com.julienviet.pgclient.impl.CommandBase;
 import com.julienviet.pgclient.impl.Connection;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 
 class SimpleConnection implements Connection {
 
   Holder holder;
   int closed;
+  int queueDepth;
 
   @Override
   public void init(Holder holder) {
@@ -36,6 +39,11 @@ class SimpleConnection implements Connection {
     return false;
   }
 
+  @Override
+  public int queueDepth() {
+    return queueDepth;
+  }
+
   @Override
   public void schedule(CommandBase cmd, Handler<Void> completionHandler) {
 
@@ -46,6 +54,11 @@ class SimpleConnection implements Connection {
     closed++;
   }
 
+  @Override
+  public void cancelRequest(Handler<AsyncResult<Void>> handler) {
+    handler.handle(Future.succeededFuture());
+  }
+
   void close() {
     holder.handleClosed();
   }
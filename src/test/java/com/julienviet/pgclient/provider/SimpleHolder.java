@@ -38,6 +38,10 @@ class SimpleHolder implements Connection.Holder, Handler<AsyncResult<Connection>
     return conn != null;
   }
 
+  Throwable acquireFailure() {
+    return acquireFailure;
+  }
+
   boolean isComplete() {
     return conn != null || acquireFailure != null;
   }